@@ -0,0 +1,358 @@
+package com.assignment.pages;
+
+import com.assignment.utils.WaitEngine;
+import org.openqa.selenium.*;
+import org.openqa.selenium.support.ui.Select;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Language dropdown component. Detects once per page which widget library renders the dropdown
+ * and dispatches to a strategy for it, so options are listed and chosen in at most one open
+ * (or read straight from the DOM/model without clicking at all).
+ *
+ * <p>Detection is scoped to the control next to the "Language" label when there is one, so an unrelated
+ * &lt;select&gt; or combobox elsewhere on the page is not mistaken for the language dropdown.
+ */
+public class LanguageDropdown {
+
+    /** Outcome of {@link #validateAndSelect}: the two failure cases need different fallbacks. */
+    public enum Result { SELECTED, NOT_SELECTED, INVALID_OPTIONS, UNKNOWN_WIDGET }
+
+    // Marks the container the widget was found in; later reads and toggles stay inside it.
+    static final String SCOPE_ATTR = "data-language-scope";
+
+    /** Widget libraries we know how to drive. */
+    public enum Widget {
+        // specialised libraries first: Select2 / Chosen hide a native <select> underneath
+        SELECT2(".select2-container, select.select2-hidden-accessible", null, null, true),
+        CHOSEN(".chosen-container", null, null, true),
+        UI_SELECT(".ui-select-container",
+                ".ui-select-container .ui-select-toggle, .ui-select-container .ui-select-match, .ui-select-container",
+                ".ui-select-choices-row", false),
+        ANGULAR_MATERIAL("mat-select, .mat-select, .mat-mdc-select",
+                ".mat-select-trigger, .mat-mdc-select-trigger, mat-select",
+                "mat-option, .mat-option, .mat-mdc-option", false),
+        NG_SELECT("ng-select", "ng-select .ng-select-container", ".ng-dropdown-panel .ng-option", false),
+        NATIVE_SELECT("select", null, null, true),
+        ARIA_COMBOBOX("[role='combobox']", "[role='combobox']", "[role='option']", false),
+        UNKNOWN(null, null, null, false);
+
+        final String detectCss;
+        final String toggleCss;
+        final String optionCss;
+        /** Backed by a real &lt;select&gt;: list and select without opening anything. */
+        final boolean nativeBacked;
+
+        Widget(String detectCss, String toggleCss, String optionCss, boolean nativeBacked) {
+            this.detectCss = detectCss;
+            this.toggleCss = toggleCss;
+            this.optionCss = optionCss;
+            this.nativeBacked = nativeBacked;
+        }
+    }
+
+    // Widget (in enum order) inside the closest container of a "Language" label (up to 4 levels up);
+    // falls back to the first widget anywhere in this document. Returns {name, scoped}.
+    private static final String DETECT_JS =
+            "var kinds = arguments[0], attr = arguments[1];" +
+            "function first(root) {" +
+            "  for (var i = 0; i < kinds.length; i++) {" +
+            "    try { if (root.querySelector(kinds[i].css)) return kinds[i].name; } catch (e) {}" +
+            "  }" +
+            "  return null;" +
+            "}" +
+            "var old = document.querySelector('[' + attr + ']'); if (old) old.removeAttribute(attr);" +
+            "var labels = document.querySelectorAll('label, legend, span, div, p, th, td');" +
+            "for (var l = 0; l < labels.length; l++) {" +
+            "  var own = '';" +
+            "  labels[l].childNodes.forEach(function (n) { if (n.nodeType === 3) own += n.textContent; });" +
+            "  if (!/^\\s*language\\b/i.test(own) || own.trim().length > 40) continue;" +
+            "  var root = labels[l];" +
+            "  for (var up = 0; up < 4 && root && root !== document.body; up++, root = root.parentElement) {" +
+            "    var name = first(root);" +
+            "    if (name) { root.setAttribute(attr, ''); return {name: name, scoped: true}; }" +
+            "  }" +
+            "}" +
+            "var any = first(document);" +
+            "return any ? {name: any, scoped: false} : null;";
+
+    // Option labels without opening: underlying <select> for native-backed widgets, otherwise rows that
+    // the library already rendered (hidden), textContent works on hidden nodes, innerText does not.
+    private static final String READ_CLOSED_JS =
+            "var widget = arguments[0], rowCss = arguments[1], out = [];" +
+            "var root = document.querySelector('[' + arguments[2] + ']') || document;" +
+            "function add(t) { t = (t || '').replace(/\\s+/g, ' ').trim(); if (t && out.indexOf(t) < 0) out.push(t); }" +
+            "if (widget === 'SELECT2' || widget === 'CHOSEN' || widget === 'NATIVE_SELECT') {" +
+            "  var sels = root.querySelectorAll('select');" +
+            "  for (var i = 0; i < sels.length; i++) for (var j = 0; j < sels[i].options.length; j++) add(sels[i].options[j].text);" +
+            "  return out;" +
+            "}" +
+            "if (widget === 'ARIA_COMBOBOX') {" +
+            "  var cb = root.querySelector(\"[role='combobox']\");" +
+            "  var id = cb && (cb.getAttribute('aria-controls') || cb.getAttribute('aria-owns'));" +
+            "  var lb = id && document.getElementById(id);" +
+            "  if (lb) lb.querySelectorAll(\"[role='option']\").forEach(function (o) { add(o.textContent); });" +
+            "  return out;" +
+            "}" +
+            "if (rowCss) root.querySelectorAll(rowCss).forEach(function (o) { add(o.textContent); });" +
+            "return out;";
+
+    // Visible option labels of an opened panel, plus the element matching the wanted text (if any).
+    private static final String READ_OPEN_JS =
+            "var rowCss = arguments[0], wanted = arguments[1], texts = [], target = null;" +
+            "document.querySelectorAll(rowCss).forEach(function (o) {" +
+            "  if (!(o.offsetWidth || o.offsetHeight || o.getClientRects().length)) return;" +
+            "  var t = (o.innerText || o.textContent || '').replace(/\\s+/g, ' ').trim();" +
+            "  if (!t) return;" +
+            "  if (texts.indexOf(t) < 0) texts.push(t);" +
+            "  if (!target && wanted && t === wanted) target = o;" +
+            "});" +
+            "return {texts: texts, target: target};";
+
+    // Select2 / Chosen: set the hidden <select> and notify the library (jQuery) and Angular (change).
+    private static final String SELECT_BACKING_JS =
+            "var widget = arguments[0], wanted = arguments[1];" +
+            "var sels = (document.querySelector('[' + arguments[2] + ']') || document).querySelectorAll('select');" +
+            "for (var i = 0; i < sels.length; i++) {" +
+            "  var s = sels[i];" +
+            "  for (var j = 0; j < s.options.length; j++) {" +
+            "    if (s.options[j].text.trim() !== wanted) continue;" +
+            "    s.selectedIndex = j;" +
+            "    s.dispatchEvent(new Event('change', {bubbles: true}));" +
+            "    var $ = window.jQuery;" +
+            "    if ($) { $(s).trigger('change'); if (widget === 'CHOSEN') $(s).trigger('chosen:updated'); }" +
+            "    return true;" +
+            "  }" +
+            "}" +
+            "return false;";
+
+    private final WebDriver driver;
+    private final WaitEngine waits;
+
+    private Widget widget;
+    private int frameIndex = -1; // -1 = default content
+    private boolean scoped;      // found next to the Language label (SCOPE_ATTR set)
+    private List<String> cachedOptions;
+
+    public LanguageDropdown(WebDriver driver, WaitEngine waits) {
+        this.driver = driver;
+        this.waits = waits;
+    }
+
+    /** Forget the fingerprint (call after navigation). */
+    public void reset() {
+        widget = null;
+        frameIndex = -1;
+        scoped = false;
+        cachedOptions = null;
+    }
+
+    /** Detected widget; detection runs once per page (default content first, then frames). */
+    public Widget widget() {
+        if (widget != null) return widget;
+
+        List<Map<String, String>> kinds = new ArrayList<>();
+        for (Widget w : Widget.values()) {
+            if (w.detectCss != null) kinds.add(Map.of("name", w.name(), "css", w.detectCss));
+        }
+
+        // A widget next to the Language label (any frame) wins over an unscoped match elsewhere.
+        widget = Widget.UNKNOWN;
+        driver.switchTo().defaultContent();
+        int frames = driver.findElements(By.cssSelector("iframe, frame")).size();
+        for (int i = -1; i < frames && !scoped; i++) {
+            try {
+                enter(i);
+                Object found = ((JavascriptExecutor) driver).executeScript(DETECT_JS, kinds, SCOPE_ATTR);
+                if (!(found instanceof Map)) continue;
+                boolean inScope = Boolean.TRUE.equals(((Map<?, ?>) found).get("scoped"));
+                if (widget == Widget.UNKNOWN || inScope) {
+                    widget = Widget.valueOf(String.valueOf(((Map<?, ?>) found).get("name")));
+                    frameIndex = i;
+                    scoped = inScope;
+                }
+            } catch (WebDriverException ignored) {}
+        }
+        driver.switchTo().defaultContent();
+        System.out.println("[DEBUG] Language dropdown widget: " + widget + (frameIndex >= 0 ? " (frame " + frameIndex + ")" : "")
+                + (widget != Widget.UNKNOWN && !scoped ? " (not tied to a Language label)" : ""));
+        return widget;
+    }
+
+    /** Option labels; read without clicking where the widget allows, otherwise one open + close. */
+    public List<String> options() {
+        if (cachedOptions != null) return cachedOptions;
+        if (widget() == Widget.UNKNOWN) return Collections.emptyList();
+
+        List<String> closed = readClosed();
+        if (!closed.isEmpty()) return cachedOptions = closed;
+
+        WebElement toggle = open();
+        if (toggle == null) return Collections.emptyList();
+        List<String> texts = readOpen(null).texts;
+        close(toggle);
+        driver.switchTo().defaultContent();
+        return cachedOptions = texts;
+    }
+
+    /**
+     * Validate the option list and select the wanted label in a single interaction.
+     * Nothing is selected unless validation passed; NOT_SELECTED means the options were fine but the pick failed.
+     */
+    public Result validateAndSelect(String wanted, Predicate<List<String>> valid) {
+        if (widget() == Widget.UNKNOWN) return Result.UNKNOWN_WIDGET;
+
+        // Already know the options (model/DOM read or earlier call): validate first, then one select.
+        List<String> known = cachedOptions != null ? cachedOptions : readClosed();
+        if (!known.isEmpty()) {
+            cachedOptions = known;
+            if (!valid.test(known)) return Result.INVALID_OPTIONS;
+            return select(wanted) ? Result.SELECTED : Result.NOT_SELECTED;
+        }
+
+        // Options only exist while open: open once, read, click the wanted row in the same open.
+        WebElement toggle = open();
+        if (toggle == null) return Result.INVALID_OPTIONS;
+        OpenRead read = readOpen(wanted);
+        cachedOptions = read.texts;
+        Result result = !valid.test(read.texts) ? Result.INVALID_OPTIONS
+                : read.target == null ? Result.NOT_SELECTED : Result.SELECTED;
+        if (result == Result.SELECTED) click(read.target);
+        else close(toggle);
+        driver.switchTo().defaultContent();
+        return result;
+    }
+
+    /** Select by exact label using the widget's own strategy. */
+    public boolean select(String wanted) {
+        Widget w = widget();
+        if (w == Widget.UNKNOWN) return false;
+        try {
+            enter(frameIndex);
+            if (w == Widget.NATIVE_SELECT) return selectNative(wanted);
+            if (w.nativeBacked) {
+                return Boolean.TRUE.equals(((JavascriptExecutor) driver).executeScript(SELECT_BACKING_JS, w.name(), wanted, SCOPE_ATTR));
+            }
+            WebElement toggle = open();
+            if (toggle == null) return false;
+            OpenRead read = readOpen(wanted);
+            if (read.target == null) {
+                close(toggle);
+                return false;
+            }
+            click(read.target);
+            return true;
+        } catch (WebDriverException e) {
+            System.out.println("[DEBUG] LanguageDropdown.select(" + wanted + ") failed: " + e.getMessage());
+            return false;
+        } finally {
+            driver.switchTo().defaultContent();
+        }
+    }
+
+    // =================== Internals ===================
+
+    private static final class OpenRead {
+        final List<String> texts;
+        final WebElement target;
+
+        OpenRead(List<String> texts, WebElement target) {
+            this.texts = texts;
+            this.target = target;
+        }
+    }
+
+    private List<String> readClosed() {
+        try {
+            enter(frameIndex);
+            Object raw = ((JavascriptExecutor) driver).executeScript(READ_CLOSED_JS, widget.name(), widget.optionCss, SCOPE_ATTR);
+            return toStrings(raw);
+        } catch (WebDriverException e) {
+            return Collections.emptyList();
+        } finally {
+            driver.switchTo().defaultContent();
+        }
+    }
+
+    /** Click the first visible toggle; stays in the widget's frame. */
+    private WebElement open() {
+        if (widget.toggleCss == null) return null;
+        enter(frameIndex);
+        for (WebElement t : findInScope(widget.toggleCss)) {
+            try {
+                if (!t.isDisplayed()) continue;
+                click(t);
+                return t;
+            } catch (WebDriverException ignored) {}
+        }
+        return null;
+    }
+
+    /** Poll the opened panel briefly (within the caller's budget) until rows render. */
+    private OpenRead readOpen(String wanted) {
+        OpenRead read = waits.poll(Duration.ofSeconds(2), () -> {
+            try {
+                Object raw = ((JavascriptExecutor) driver).executeScript(READ_OPEN_JS, widget.optionCss, wanted);
+                if (!(raw instanceof Map)) return null;
+                Map<?, ?> m = (Map<?, ?>) raw;
+                Object target = m.get("target");
+                List<String> texts = toStrings(m.get("texts"));
+                return texts.isEmpty() ? null : new OpenRead(texts, target instanceof WebElement ? (WebElement) target : null);
+            } catch (WebDriverException e) {
+                return null;
+            }
+        });
+        return read != null ? read : new OpenRead(Collections.emptyList(), null);
+    }
+
+    private boolean selectNative(String wanted) {
+        for (WebElement sel : findInScope("select")) {
+            try {
+                if (!sel.isDisplayed()) continue;
+                new Select(sel).selectByVisibleText(wanted);
+                return true;
+            } catch (WebDriverException ignored) {}
+        }
+        return false;
+    }
+
+    /** Elements inside the Language label's container when detection was scoped, else the whole document. */
+    private List<WebElement> findInScope(String css) {
+        if (scoped) {
+            List<WebElement> roots = driver.findElements(By.cssSelector("[" + SCOPE_ATTR + "]"));
+            if (!roots.isEmpty()) return roots.get(0).findElements(By.cssSelector(css));
+        }
+        return driver.findElements(By.cssSelector(css));
+    }
+
+    private void click(WebElement el) {
+        try {
+            el.click();
+        } catch (WebDriverException e) {
+            ((JavascriptExecutor) driver).executeScript("arguments[0].click();", el);
+        }
+    }
+
+    private void close(WebElement toggle) {
+        try { toggle.sendKeys(Keys.ESCAPE); } catch (WebDriverException ignored) {}
+    }
+
+    private void enter(int frame) {
+        driver.switchTo().defaultContent();
+        if (frame >= 0) driver.switchTo().frame(frame);
+    }
+
+    private static List<String> toStrings(Object raw) {
+        List<String> out = new ArrayList<>();
+        if (raw instanceof List) {
+            for (Object o : (List<?>) raw) if (o != null) out.add(String.valueOf(o).trim());
+        }
+        return out;
+    }
+}
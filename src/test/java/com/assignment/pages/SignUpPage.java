@@ -1,28 +1,47 @@
 
 package com.assignment.pages;
 
+import com.assignment.utils.WaitEngine;
+import com.assignment.utils.WebPerfMonitor;
 import org.openqa.selenium.*;
 import org.openqa.selenium.NoSuchElementException; // Use Selenium's NoSuchElementException
 import org.openqa.selenium.interactions.Actions;
-import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.interactions.Interactive;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 public class SignUpPage {
 
+    /** Text fields that {@link #fillForm(Map)} knows how to resolve. */
+    public enum Field { NAME, ORG, EMAIL }
+
+    /** SCRIPT sets all values in one injected call; KEYSTROKES types each field like a real user. */
+    public enum FillMode { SCRIPT, KEYSTROKES }
+
+    private enum Outcome { SUCCESS, ERROR }
+
+    // Caps for individual waits; every one is further bounded by the calling method's budget.
+    private static final Duration FIND_TIMEOUT = Duration.ofSeconds(3);
+    private static final Duration CLICKABLE_TIMEOUT = Duration.ofSeconds(15);
+    private static final Duration PAGE_TIMEOUT = Duration.ofSeconds(15);
+    private static final Duration SUBMIT_TIMEOUT = Duration.ofSeconds(8);
+
     private final WebDriver driver;
-    private final WebDriverWait wait;
+    private final WaitEngine waits;
+    private final LanguageDropdown languageDropdown;
 
     private static final String BASE_URL = "http://jt-dev.azurewebsites.net/#/SignUp";
 
@@ -44,9 +63,7 @@ public class SignUpPage {
             // Chosen
             By.cssSelector(".chosen-container"),
             // Generic ARIA combobox
-            By.cssSelector("[role='combobox']"),
-            // Any visible element with 'Language' label nearby
-            By.xpath("//*[self::div or self::span or self::label][contains(translate(., 'LANGUAGE', 'language'),'language')]")
+            By.cssSelector("[role='combobox']")
     };
 
     // Options inside opened dropdowns
@@ -138,201 +155,333 @@ public class SignUpPage {
                     "contains(translate(.,'REQUIREDINVALIDPLEASE','requiredinvalidplease'),'please')]")
     };
 
+    // Resolves every requested field (page + same-origin frames), sets the value through the native
+    // setter and fires input/change/blur so Angular's ngModel picks it up. Returns the fields it could not find.
+    private static final String FILL_FORM_JS =
+            "var specs = arguments[0], missing = [];" +
+            "function visible(el) { return !!(el && (el.offsetWidth || el.offsetHeight || el.getClientRects().length)); }" +
+            "function find(doc, locs) {" +
+            "  for (var i = 0; i < locs.length; i++) {" +
+            "    var l = locs[i], nodes = [];" +
+            "    try {" +
+            "      if (l.using === 'xpath') {" +
+            "        var r = doc.evaluate(l.value, doc, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+            "        for (var k = 0; k < r.snapshotLength; k++) nodes.push(r.snapshotItem(k));" +
+            "      } else { nodes = doc.querySelectorAll(l.value); }" +
+            "    } catch (e) { continue; }" +
+            "    for (var j = 0; j < nodes.length; j++) if (visible(nodes[j])) return nodes[j];" +
+            "  }" +
+            "  return null;" +
+            "}" +
+            "var docs = [document], frames = document.querySelectorAll('iframe, frame');" +
+            "for (var f = 0; f < frames.length; f++) { try { if (frames[f].contentDocument) docs.push(frames[f].contentDocument); } catch (e) {} }" +
+            "specs.forEach(function (s) {" +
+            "  var el = null;" +
+            "  for (var d = 0; d < docs.length && !el; d++) el = find(docs[d], s.locators);" +
+            "  if (!el) { missing.push(s.field); return; }" +
+            "  var win = el.ownerDocument.defaultView, proto = Object.getPrototypeOf(el), desc = null;" +
+            "  while (proto && !(desc = Object.getOwnPropertyDescriptor(proto, 'value'))) proto = Object.getPrototypeOf(proto);" +
+            "  el.focus();" +
+            "  if (desc && desc.set) desc.set.call(el, s.value); else el.value = s.value;" +
+            "  el.dispatchEvent(new win.Event('input', {bubbles: true}));" +
+            "  el.dispatchEvent(new win.Event('change', {bubbles: true}));" +
+            "  el.blur();" +
+            "  el.dispatchEvent(new win.Event('blur'));" +
+            "});" +
+            "return missing;";
+
     // for debug
     private String lastSubmissionError = "";
+    // Confirmation text was already on the page before the submit, so this submit's outcome is unknown
+    private boolean staleConfirmation;
 
     public SignUpPage(WebDriver driver) {
         this.driver = driver;
-        // Keep a reasonable explicit wait for *true* waits; discovery is now done via quick polling.
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
+        // One wait engine: each public call gets a deadline budget that bounds every nested wait.
+        this.waits = new WaitEngine();
+        this.languageDropdown = new LanguageDropdown(driver, waits);
+    }
+
+    /** Budgets, backoff and time-waited reporting for this page's waits. */
+    public WaitEngine waits() {
+        return waits;
     }
 
     // =================== Public API ===================
 
     public void openPage() {
-        driver.get(BASE_URL);
+        waits.within("openPage", Duration.ofSeconds(20), () -> {
+            languageDropdown.reset();
+            staleConfirmation = false;
+            // Already on the sign-up document (e.g. the next loop iteration): get() would only change the
+            // #fragment without reloading, so go through about:blank to force a fresh page.
+            if (sameDocument(currentUrl(), BASE_URL)) driver.get("about:blank");
+            driver.get(BASE_URL);
 
-        // DOM ready
-        wait.until((ExpectedCondition<Boolean>) d ->
-                "complete".equals(((JavascriptExecutor) d).executeScript("return document.readyState")));
+            // DOM ready
+            waits.until(driver, PAGE_TIMEOUT, d ->
+                    "complete".equals(((JavascriptExecutor) d).executeScript("return document.readyState")));
 
-        // Angular settle (safe if not Angular)
-        waitForAngularToFinish();
+            // Angular settle (safe if not Angular)
+            waitForAngularToFinish();
 
-        // Make sure form exists (default content or inside a frame)
-        ensureContextAtForm();
+            // Browser-side timings (navigation, resources, paint/LCP/CLS) for synthetic monitoring
+            WebPerfMonitor.capturePageLoad(driver);
+
+            // Make sure form exists (default content or inside a frame)
+            ensureContextAtForm();
+        });
     }
 
     /** Validate languages exist (English & Dutch). */
     public boolean validateLanguages() {
-        // 1) Plain <select> fast path
-        List<String> fromSelect = tryReadLanguagesFromPlainSelect();
-        if (containsEnglishAndDutch(fromSelect)) return true;
+        return waits.within("validateLanguages", Duration.ofSeconds(10), () -> {
+            // 1) Fingerprinted widget: model/DOM read, or a single open
+            if (containsEnglishAndDutch(languageDropdown.options())) return true;
 
-        // 2) Try to open any dropdown and read options
-        List<String> texts = tryReadFromDropdowns();
-        if (containsEnglishAndDutch(texts)) return true;
+            // 2) Unknown or misfingerprinted widget: plain <select>, then brute-force the dropdown candidates
+            if (containsEnglishAndDutch(tryReadLanguagesFromPlainSelect())) return true;
+            if (containsEnglishAndDutch(tryReadFromDropdowns())) return true;
 
-        // 3) LAST RESORT: visible anywhere on page
-        if (pageHasVisibleText("English") && pageHasVisibleText("Dutch")) return true;
+            // 3) LAST RESORT: visible anywhere on page
+            if (pageHasVisibleText("English") && pageHasVisibleText("Dutch")) return true;
 
-        System.out.println("[DEBUG] Could not detect a language dropdown. Frames: "
-                + driver.findElements(By.cssSelector("iframe, frame")).size());
-        return false;
+            System.out.println("[DEBUG] Could not detect a language dropdown. Frames: "
+                    + driver.findElements(By.cssSelector("iframe, frame")).size());
+            return false;
+        });
+    }
+
+    /** ✅ Validate English & Dutch are offered and select the language in one dropdown interaction. */
+    public boolean validateAndSelectLanguage(String language) {
+        return waits.within("validateAndSelectLanguage", Duration.ofSeconds(10), () -> {
+            LanguageDropdown.Result result = languageDropdown.validateAndSelect(language, this::containsEnglishAndDutch);
+            switch (result) {
+                case SELECTED:
+                    return true;
+                case NOT_SELECTED:
+                    // Languages are there, only the widget strategy could not pick one: use the generic paths
+                    System.out.println("[DEBUG] Languages present but '" + language + "' could not be selected via "
+                            + languageDropdown.widget() + "; trying generic selection");
+                    selectLanguage(language);
+                    return true;
+                default:
+                    if (waits.expired()) return false;
+                    // Unknown widget or a fingerprint that read the wrong control: separate brute-force steps
+                    System.out.println("[DEBUG] Language validation via " + languageDropdown.widget()
+                            + " failed (" + result + "); falling back to generic scan");
+                    if (!validateLanguages()) return false;
+                    selectLanguage(language);
+                    return true;
+            }
+        });
     }
 
     /** ✅ Select the language (call from your test). */
     public void selectLanguage(String language) {
-        // Try a native <select> first
-        if (trySelectInPlainSelect(language)) return;
+        waits.within("selectLanguage", Duration.ofSeconds(10), () -> {
+            // Fingerprinted widget strategy
+            if (languageDropdown.select(language)) return;
 
-        // Else open a dropdown and pick the option
-        driver.switchTo().defaultContent();
-        if (tryOpenDropdownAndChoose(language)) return;
+            // Try a native <select> first
+            if (trySelectInPlainSelect(language)) return;
 
-        List<WebElement> frames = driver.findElements(By.cssSelector("iframe, frame"));
-        for (int i = 0; i < frames.size(); i++) {
+            // Else open a dropdown and pick the option
             driver.switchTo().defaultContent();
-            driver.switchTo().frame(i);
-            if (tryOpenDropdownAndChoose(language)) {
+            if (tryOpenDropdownAndChoose(language)) return;
+
+            List<WebElement> frames = driver.findElements(By.cssSelector("iframe, frame"));
+            for (int i = 0; i < frames.size() && !waits.expired(); i++) {
                 driver.switchTo().defaultContent();
-                return;
+                driver.switchTo().frame(i);
+                if (tryOpenDropdownAndChoose(language)) {
+                    driver.switchTo().defaultContent();
+                    return;
+                }
             }
-        }
-        driver.switchTo().defaultContent();
-        // Some builds may default to English; continue silently.
+            driver.switchTo().defaultContent();
+            // Some builds may default to English; continue silently.
+        });
     }
 
     public void fillName(String name) {
-        WebElement el = findFirstVisibleAcrossFrames(nameCandidates);
-        clearAndType(el, name);
+        waits.within("fillName", Duration.ofSeconds(10), () -> {
+            WebElement el = findFirstVisibleAcrossFrames(nameCandidates);
+            clearAndType(el, name);
+        });
     }
 
     public void fillOrg(String org) {
-        WebElement el = findFirstVisibleAcrossFrames(orgCandidates);
-        clearAndType(el, org);
+        waits.within("fillOrg", Duration.ofSeconds(10), () -> {
+            WebElement el = findFirstVisibleAcrossFrames(orgCandidates);
+            clearAndType(el, org);
+        });
     }
 
     public void fillEmail(String email) {
-        WebElement el = findFirstVisibleAcrossFrames(emailCandidates);
-        clearAndType(el, email);
+        waits.within("fillEmail", Duration.ofSeconds(10), () -> {
+            WebElement el = findFirstVisibleAcrossFrames(emailCandidates);
+            clearAndType(el, email);
+        });
+    }
+
+    /** Fill several text fields in one script round trip (Angular-aware events). */
+    public void fillForm(Map<Field, String> values) {
+        fillForm(values, FillMode.SCRIPT);
+    }
+
+    /**
+     * Fill several text fields. In SCRIPT mode all fields are resolved and set in a single injected call;
+     * anything the script could not find (e.g. not rendered yet) falls back to the per-field typing path.
+     */
+    public void fillForm(Map<Field, String> values, FillMode mode) {
+        waits.within("fillForm", Duration.ofSeconds(10), () -> {
+            if (values == null || values.isEmpty()) return;
+
+            Map<Field, String> remaining = new EnumMap<>(values);
+            if (mode == FillMode.SCRIPT) {
+                for (Field done : fillByScript(values)) remaining.remove(done);
+            }
+
+            for (Map.Entry<Field, String> e : remaining.entrySet()) {
+                WebElement el = findFirstVisibleAcrossFrames(candidatesFor(e.getKey()));
+                clearAndType(el, e.getValue());
+            }
+        });
     }
 
     /** ✅ Click the checkbox input (never the hyperlink); JS fallback + change event. */
     public void acceptTerms() {
-        // Fast path: generic checkbox in current context
-        try {
-            driver.switchTo().defaultContent();
-            List<WebElement> fast = driver.findElements(By.cssSelector("input[type='checkbox']"));
-            for (WebElement cb : fast) {
-                if (cb.isDisplayed()) {
-                    if (!cb.isSelected()) {
-                        cb.click();
+        waits.within("acceptTerms", Duration.ofSeconds(10), () -> {
+            // Fast path: generic checkbox in current context
+            try {
+                driver.switchTo().defaultContent();
+                List<WebElement> fast = driver.findElements(By.cssSelector("input[type='checkbox']"));
+                for (WebElement cb : fast) {
+                    if (cb.isDisplayed()) {
+                        if (!cb.isSelected()) {
+                            cb.click();
+                        }
+                        return;
                     }
-                    return;
                 }
-            }
-        } catch (Exception ignored) {}
+            } catch (Exception ignored) {}
 
-        // Fallback to robust cross-frame strategy
-        try {
-            WebElement cb = findFirstVisibleAcrossFrames(termsCheckboxCandidates);
-            scrollIntoViewCenter(cb);
+            // Fallback to robust cross-frame strategy
+            try {
+                WebElement cb = findFirstVisibleAcrossFrames(termsCheckboxCandidates);
+                scrollIntoViewCenter(cb);
 
-            if (!cb.isSelected()) {
-                try {
-                    wait.until(ExpectedConditions.elementToBeClickable(cb));
-                    cb.click();
-                } catch (WebDriverException clickProblem) {
-                    // If intercepted/hidden, set it via JS and dispatch change event
-                    ((JavascriptExecutor) driver).executeScript(
-                            "arguments[0].checked = true;" +
-                                    "arguments[0].dispatchEvent(new Event('change', {bubbles:true}));",
-                            cb
-                    );
+                if (!cb.isSelected()) {
+                    try {
+                        waits.until(driver, CLICKABLE_TIMEOUT, ExpectedConditions.elementToBeClickable(cb));
+                        cb.click();
+                    } catch (WebDriverException clickProblem) {
+                        // If intercepted/hidden, set it via JS and dispatch change event
+                        ((JavascriptExecutor) driver).executeScript(
+                                "arguments[0].checked = true;" +
+                                        "arguments[0].dispatchEvent(new Event('change', {bubbles:true}));",
+                                cb
+                        );
+                    }
                 }
-            }
 
-            // Small assert: ensure it is selected
-            if (!cb.isSelected()) {
-                // Last fallback: JS click on the input element explicitly
-                ((JavascriptExecutor) driver).executeScript("arguments[0].click();", cb);
+                // Small assert: ensure it is selected
+                if (!cb.isSelected()) {
+                    // Last fallback: JS click on the input element explicitly
+                    ((JavascriptExecutor) driver).executeScript("arguments[0].click();", cb);
+                }
+                return; // success path
+            } catch (TimeoutException | NoSuchElementException noCheckboxVisible) {
+                // ignore, try label fallback below
             }
-            return; // success path
-        } catch (TimeoutException | NoSuchElementException noCheckboxVisible) {
-            // ignore, try label fallback below
-        }
 
-        // FINAL fallback: click the label text—but offset to the left (away from the <a> link)
-        try {
-            WebElement label = findFirstVisibleAcrossFrames(termsLabelCandidates);
-            scrollIntoViewCenter(label);
+            // FINAL fallback: click the label text—but offset to the left (away from the <a> link)
+            try {
+                WebElement label = findFirstVisibleAcrossFrames(termsLabelCandidates);
+                scrollIntoViewCenter(label);
 
-            // Click ~6px inside the left edge to avoid the link area
-            int xFromCenter = -label.getSize().width / 2 + 6;
-            new Actions(driver)
-                    .moveToElement(label, xFromCenter, 0)
-                    .click()
-                    .perform();
+                // Click ~6px inside the left edge to avoid the link area
+                int xFromCenter = -label.getSize().width / 2 + 6;
+                new Actions(driver)
+                        .moveToElement(label, xFromCenter, 0)
+                        .click()
+                        .perform();
 
-            // Verify checkbox actually got selected; if not, try to find and JS-set it
-            try {
-                WebElement cb = findFirstVisibleAcrossFrames(termsCheckboxCandidates);
-                if (!cb.isSelected()) {
-                    ((JavascriptExecutor) driver).executeScript(
-                            "arguments[0].checked = true;" +
-                                    "arguments[0].dispatchEvent(new Event('change', {bubbles:true}));",
-                            cb
-                    );
+                // Verify checkbox actually got selected; if not, try to find and JS-set it
+                try {
+                    WebElement cb = findFirstVisibleAcrossFrames(termsCheckboxCandidates);
+                    if (!cb.isSelected()) {
+                        ((JavascriptExecutor) driver).executeScript(
+                                "arguments[0].checked = true;" +
+                                        "arguments[0].dispatchEvent(new Event('change', {bubbles:true}));",
+                                cb
+                        );
+                    }
+                } catch (Exception ignored) {
+                    // If we still can’t find a checkbox, keep going; the form may accept label state
                 }
-            } catch (Exception ignored) {
-                // If we still can’t find a checkbox, keep going; the form may accept label state
+            } catch (Exception e) {
+                // As a last resort, do nothing—submit may still work if T&C not mandatory in this build
+                System.out.println("[DEBUG] acceptTerms(): fallback label click failed: " + e.getMessage());
             }
-        } catch (Exception e) {
-            // As a last resort, do nothing—submit may still work if T&C not mandatory in this build
-            System.out.println("[DEBUG] acceptTerms(): fallback label click failed: " + e.getMessage());
-        }
+        });
     }
 
     /** Smarter click + wait for outcome (success/error/URL or body text). */
     public void clickSignUp() {
-        lastSubmissionError = "";
-        WebElement btn = findFirstVisibleAcrossFrames(signUpBtnCandidates);
-        scrollIntoViewCenter(btn);
-        safeClick(btn);
+        waits.within("clickSignUp", Duration.ofSeconds(15), () -> {
+            lastSubmissionError = "";
+            // A banner left from an earlier submit would be taken for this submit's outcome
+            staleConfirmation = pageContainsTextCI("welcome email") && pageContainsTextCI("check your email");
+            if (staleConfirmation) {
+                System.out.println("[DEBUG] Confirmation already visible before submit; page was not reloaded.");
+            }
+            WebElement btn = findFirstVisibleAcrossFrames(signUpBtnCandidates);
+            scrollIntoViewCenter(btn);
+            WebPerfMonitor.markSubmit(driver);
+            safeClick(btn);
 
-        // Try to scroll to top where banners/toasts might appear
-        try {
-            ((JavascriptExecutor) driver).executeScript("window.scrollTo(0,0);");
-        } catch (Exception ignored) {}
+            // Try to scroll to top where banners/toasts might appear
+            try {
+                ((JavascriptExecutor) driver).executeScript("window.scrollTo(0,0);");
+            } catch (Exception ignored) {}
 
-        // Wait for either a confirmation OR a visible error OR URL change OR body text contains phrase
-        boolean gotOutcome = waitForSubmissionOutcome();
-        if (!gotOutcome) {
-            System.out.println("[DEBUG] No confirmation or error detected within wait window.");
-        }
-        if (!lastSubmissionError.isEmpty()) {
-            System.out.println("[DEBUG] Submission error seen: " + lastSubmissionError);
-        }
+            // Wait for either a confirmation OR a visible error OR URL change OR body text contains phrase
+            boolean gotOutcome = waitForSubmissionOutcome();
+            WebPerfMonitor.captureSubmit(driver);
+            if (!gotOutcome) {
+                System.out.println("[DEBUG] No confirmation or error detected within wait window.");
+            }
+            if (!lastSubmissionError.isEmpty()) {
+                System.out.println("[DEBUG] Submission error seen: " + lastSubmissionError);
+            }
+        });
     }
 
     /** Robust confirmation detection (toasts, banners, body text). */
     public boolean verifyConfirmation() {
-        // 1) Direct element matches (toasts/banners/modal)
-        try {
-            WebElement msg = findFirstVisibleAcrossFrames(confirmationMsgCandidates);
-            return msg.isDisplayed();
-        } catch (TimeoutException ignore) { /* try body text below */ }
+        return waits.within("verifyConfirmation", Duration.ofSeconds(5), () -> {
+            if (staleConfirmation) {
+                System.out.println("[DEBUG] verifyConfirmation(): confirmation predates the submit, not counting it");
+                return false;
+            }
+            // 1) Direct element matches (toasts/banners/modal)
+            try {
+                WebElement msg = findFirstVisibleAcrossFrames(confirmationMsgCandidates);
+                return msg.isDisplayed();
+            } catch (TimeoutException ignore) { /* try body text below */ }
 
-        // 2) As a final check, look in page text (case-insensitive) in page and frames
-        if (pageContainsTextCI("welcome email") && pageContainsTextCI("check your email")) {
-            return true;
-        }
+            // 2) As a final check, look in page text (case-insensitive) in page and frames
+            if (pageContainsTextCI("welcome email") && pageContainsTextCI("check your email")) {
+                return true;
+            }
 
-        if (!lastSubmissionError.isEmpty()) {
-            System.out.println("[DEBUG] verifyConfirmation(): Last error = " + lastSubmissionError);
-        }
-        return false;
+            if (!lastSubmissionError.isEmpty()) {
+                System.out.println("[DEBUG] verifyConfirmation(): Last error = " + lastSubmissionError);
+            }
+            return false;
+        });
     }
 
     // =================== Internals ===================
@@ -343,6 +492,68 @@ public class SignUpPage {
                 && list.stream().anyMatch(s -> s != null && (s.trim().equalsIgnoreCase("Dutch") || s.trim().equalsIgnoreCase("Nederlands")));
     }
 
+    private By[] candidatesFor(Field field) {
+        switch (field) {
+            case NAME: return nameCandidates;
+            case ORG: return orgCandidates;
+            case EMAIL: return emailCandidates;
+            default: throw new IllegalArgumentException("Unknown field: " + field);
+        }
+    }
+
+    /** Runs FILL_FORM_JS once; returns the fields it managed to set. */
+    private List<Field> fillByScript(Map<Field, String> values) {
+        List<Map<String, Object>> specs = new ArrayList<>();
+        for (Map.Entry<Field, String> e : values.entrySet()) {
+            Map<String, Object> spec = new HashMap<>();
+            spec.put("field", e.getKey().name());
+            spec.put("value", e.getValue());
+            spec.put("locators", toScriptLocators(candidatesFor(e.getKey())));
+            specs.add(spec);
+        }
+
+        try {
+            driver.switchTo().defaultContent();
+            Object missing = ((JavascriptExecutor) driver).executeScript(FILL_FORM_JS, specs);
+            List<Field> done = new ArrayList<>(values.keySet());
+            if (missing instanceof List) {
+                for (Object m : (List<?>) missing) done.remove(Field.valueOf(String.valueOf(m)));
+            }
+            return done;
+        } catch (WebDriverException e) {
+            System.out.println("[DEBUG] fillForm(): script path failed, typing instead: " + e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    /** Turn locators into {using, value} pairs the fill script can evaluate (xpath or css). */
+    private List<Map<String, String>> toScriptLocators(By[] candidates) {
+        List<Map<String, String>> out = new ArrayList<>();
+        for (By by : candidates) {
+            if (!(by instanceof By.Remotable)) continue;
+            By.Remotable.Parameters p = ((By.Remotable) by).getRemoteParameters();
+            String using = p.using();
+            String value = String.valueOf(p.value());
+            Map<String, String> loc = new HashMap<>();
+            if ("xpath".equals(using)) {
+                loc.put("using", "xpath");
+            } else if ("css selector".equals(using) || "tag name".equals(using)) {
+                loc.put("using", "css");
+            } else if ("id".equals(using)) {
+                loc.put("using", "css");
+                value = "[id='" + value + "']";
+            } else if ("name".equals(using)) {
+                loc.put("using", "css");
+                value = "[name='" + value + "']";
+            } else {
+                continue;
+            }
+            loc.put("value", value);
+            out.add(loc);
+        }
+        return out;
+    }
+
     /** Try to read languages from any <select> (in page or any iframe). */
     private List<String> tryReadLanguagesFromPlainSelect() {
         List<String> values = readFromAllSelectsInCurrentContext();
@@ -416,12 +627,13 @@ public class SignUpPage {
         for (By toggleBy : toggleCandidates) {
             List<WebElement> toggles = driver.findElements(toggleBy);
             for (WebElement t : toggles) {
+                if (waits.expired()) return false;
                 try {
                     if (!t.isDisplayed()) continue;
                     scrollIntoViewCenter(t);
                     safeClick(t);
                     // light wait for options to show (kept minimal)
-                    try { Thread.sleep(100); } catch (InterruptedException ignored) {}
+                    waits.pause(100);
                     if (clickOptionByExactText(language)) return true;
                     try { t.sendKeys(Keys.ESCAPE); } catch (Exception ignored) {}
                 } catch (WebDriverException ignored) {}
@@ -432,6 +644,7 @@ public class SignUpPage {
 
     private boolean clickOptionByExactText(String text) {
         for (By by : optionCandidates) {
+            if (waits.expired()) return false;
             List<WebElement> items = driver.findElements(by);
             for (WebElement it : items) {
                 try {
@@ -455,7 +668,7 @@ public class SignUpPage {
         if (!values.isEmpty()) return values;
 
         List<WebElement> frames = driver.findElements(By.cssSelector("iframe, frame"));
-        for (int i = 0; i < frames.size(); i++) {
+        for (int i = 0; i < frames.size() && !waits.expired(); i++) {
             driver.switchTo().defaultContent();
             driver.switchTo().frame(i);
             values = tryReadFromDropdownsInCurrentContext();
@@ -474,6 +687,7 @@ public class SignUpPage {
             if (toggles.isEmpty()) continue;
 
             for (WebElement t : toggles) {
+                if (waits.expired()) return Collections.emptyList();
                 try {
                     if (!t.isDisplayed()) continue;
                     scrollIntoViewCenter(t);
@@ -494,9 +708,8 @@ public class SignUpPage {
     }
 
     private List<String> readOptionsTextWithAllPatterns() {
-        long end = System.currentTimeMillis() + 2000; // ~2s (faster)
-        Set<String> collected = new LinkedHashSet<>();
-        while (System.currentTimeMillis() < end) {
+        List<String> found = waits.poll(Duration.ofSeconds(2), () -> {
+            Set<String> collected = new LinkedHashSet<>();
             for (By by : optionCandidates) {
                 List<WebElement> items = driver.findElements(by);
                 for (WebElement it : items) {
@@ -510,10 +723,9 @@ public class SignUpPage {
                     } catch (WebDriverException ignored) {}
                 }
             }
-            if (!collected.isEmpty()) break;
-            try { Thread.sleep(80); } catch (InterruptedException ignored) {}
-        }
-        return new ArrayList<>(collected);
+            return collected.isEmpty() ? null : new ArrayList<>(collected);
+        });
+        return found != null ? found : Collections.emptyList();
     }
 
     private boolean pageHasVisibleText(String exactText) {
@@ -565,52 +777,63 @@ public class SignUpPage {
         return false;
     }
 
-    // ---------- Frame-aware element finders (FAST total wait instead of 25s per locator) ----------
+    // ---------- Frame-aware element finders (one shared clock for page + frames) ----------
 
     /**
-     * FAST finder: polls all candidate selectors quickly in the current context,
-     * then iterates frames. Avoids long per-candidate waits.
+     * FAST finder: each poll round sweeps the page and then every frame once, so the whole search
+     * shares one FIND_TIMEOUT (and the caller's budget) instead of a timeout per frame.
      */
     private WebElement findFirstVisibleAcrossFrames(By[] candidates) {
-        // 1) Current context quick scan
-        driver.switchTo().defaultContent();
-        WebElement inPage = quickFindVisible(candidates, Duration.ofSeconds(3));
-        if (inPage != null) return inPage;
-
-        // 2) Scan frames quickly
-        List<WebElement> frames = driver.findElements(By.cssSelector("iframe, frame"));
-        for (int i = 0; i < frames.size(); i++) {
+        WebElement el = waits.poll(FIND_TIMEOUT, () -> {
             driver.switchTo().defaultContent();
-            driver.switchTo().frame(i);
-            WebElement el = quickFindVisible(candidates, Duration.ofSeconds(3));
-            if (el != null) return el; // remain in this frame
-        }
+            WebElement inPage = findVisibleNow(candidates);
+            if (inPage != null) return inPage;
+
+            int frames = driver.findElements(By.cssSelector("iframe, frame")).size();
+            for (int i = 0; i < frames; i++) {
+                driver.switchTo().defaultContent();
+                driver.switchTo().frame(i);
+                WebElement inFrame = findVisibleNow(candidates);
+                if (inFrame != null) return inFrame; // remain in this frame
+            }
+            return null;
+        });
+        if (el != null) return el;
 
         driver.switchTo().defaultContent();
         throw new TimeoutException("No visible element across frames for: " + Arrays.toString(candidates));
     }
 
-    /**
-     * Polls all selectors without long per-selector waits, for up to totalTimeout.
-     */
-    private WebElement quickFindVisible(By[] candidates, Duration totalTimeout) {
-        long end = System.currentTimeMillis() + totalTimeout.toMillis();
-        while (System.currentTimeMillis() < end) {
-            for (By by : candidates) {
-                try {
-                    List<WebElement> els = driver.findElements(by);
-                    for (WebElement el : els) {
-                        if (el.isDisplayed()) return el;
-                    }
-                } catch (WebDriverException ignored) {}
-            }
-            try { Thread.sleep(80); } catch (InterruptedException ignored) {}
+    /** Single pass over all selectors in the current context. */
+    private WebElement findVisibleNow(By[] candidates) {
+        for (By by : candidates) {
+            try {
+                List<WebElement> els = driver.findElements(by);
+                for (WebElement el : els) {
+                    if (el.isDisplayed()) return el;
+                }
+            } catch (WebDriverException ignored) {}
         }
         return null;
     }
 
     // ---------- Utilities ----------
 
+    private String currentUrl() {
+        try {
+            return driver.getCurrentUrl();
+        } catch (WebDriverException e) {
+            return null;
+        }
+    }
+
+    /** Same URL up to the #fragment, i.e. navigating between them does not load a new document. */
+    private static boolean sameDocument(String a, String b) {
+        if (a == null || b == null) return false;
+        int ha = a.indexOf('#'), hb = b.indexOf('#');
+        return (ha < 0 ? a : a.substring(0, ha)).equals(hb < 0 ? b : b.substring(0, hb));
+    }
+
     private void clearAndType(WebElement el, String text) {
         try { el.clear(); }
         catch (InvalidElementStateException ignored) {
@@ -621,9 +844,12 @@ public class SignUpPage {
 
     private void safeClick(WebElement el) {
         try {
-            wait.until(ExpectedConditions.elementToBeClickable(el));
+            waits.until(driver, CLICKABLE_TIMEOUT, ExpectedConditions.elementToBeClickable(el));
             scrollIntoViewCenter(el);
             el.click();
+        } catch (TimeoutException e) {
+            if (waits.expired()) throw e; // budget spent: give up instead of clicking anyway
+            jsClick(el);
         } catch (WebDriverException e) {
             jsClick(el);
         }
@@ -637,13 +863,14 @@ public class SignUpPage {
         try {
             ((JavascriptExecutor) driver)
                     .executeScript("arguments[0].scrollIntoView({block:'center', inline:'nearest'});", el);
-            new Actions(driver).moveToElement(el, 1, 1).perform();
-        } catch (JavascriptException ignored) {}
+            // Hover is only a nicety; skip it on backends without native input (e.g. HtmlUnit)
+            if (driver instanceof Interactive) new Actions(driver).moveToElement(el, 1, 1).perform();
+        } catch (WebDriverException | UnsupportedOperationException ignored) {}
     }
 
     private void waitForAngularToFinish() {
         try {
-            wait.until(d -> {
+            waits.until(driver, PAGE_TIMEOUT, d -> {
                 Object result = ((JavascriptExecutor) d).executeScript(
                         "try {" +
                                 " if (window.angular && angular.element(document.body).injector) {" +
@@ -659,18 +886,17 @@ public class SignUpPage {
 
     /** After clicking SignUp, wait for confirmation or error or URL change or body text match. */
     private boolean waitForSubmissionOutcome() {
-        long end = System.currentTimeMillis() + 8000; // 8s (faster than 15s)
         String startUrl = driver.getCurrentUrl();
-        while (System.currentTimeMillis() < end) {
+        Outcome outcome = waits.poll(SUBMIT_TIMEOUT, () -> {
             // Success element?
             for (By by : confirmationMsgCandidates) {
                 for (WebElement el : driver.findElements(by)) {
-                    try { if (el.isDisplayed()) return true; } catch (Exception ignored) {}
+                    try { if (el.isDisplayed()) return Outcome.SUCCESS; } catch (Exception ignored) {}
                 }
             }
             // Success by body text?
             if (pageContainsTextCI("welcome email") && pageContainsTextCI("check your email")) {
-                return true;
+                return Outcome.SUCCESS;
             }
             // Error?
             for (By by : errorMsgCandidates) {
@@ -684,18 +910,17 @@ public class SignUpPage {
                             String tl = t.toLowerCase();
                             if (!t.isEmpty() && (tl.contains("required") || tl.contains("invalid") || tl.contains("please"))) {
                                 lastSubmissionError = t;
-                                return false;
+                                return Outcome.ERROR;
                             }
                         }
                     } catch (Exception ignored) {}
                 }
             }
             // URL changed?
-            if (!Objects.equals(startUrl, driver.getCurrentUrl())) return true;
-
-            try { Thread.sleep(120); } catch (InterruptedException ignored) {}
-        }
-        return false;
+            if (!Objects.equals(startUrl, driver.getCurrentUrl())) return Outcome.SUCCESS;
+            return null;
+        });
+        return outcome == Outcome.SUCCESS;
     }
 
     /** Make sure driver context is where the form exists. */
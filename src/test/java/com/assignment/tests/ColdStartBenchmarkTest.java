@@ -0,0 +1,89 @@
+package com.assignment.tests;
+
+import com.assignment.utils.BrowserStartup;
+import com.assignment.utils.PerfGate;
+import com.assignment.utils.PerfRecorder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+
+import org.testng.SkipException;
+import org.testng.annotations.*;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cold-start benchmark: JVM start -> first driver.get, then repeated session starts with the
+ * cloned profile template vs. a fresh Chrome profile. Results go to the log,
+ * reports/cold-start-benchmark.json and PerfRecorder (so the perf gate tracks them).
+ *
+ * <p>Run with: {@code mvn -Dbenchmark.coldstart=true -Dtest=ColdStartBenchmarkTest test}
+ * ({@code -Dbenchmark.runs=N}, default 5).
+ */
+public class ColdStartBenchmarkTest {
+
+    private static final Logger log = LogManager.getLogger(ColdStartBenchmarkTest.class);
+    private static final String URL = System.getProperty("signup.url", "http://jt-dev.azurewebsites.net/#/SignUp");
+
+    @BeforeClass
+    public void checkEnabled() {
+        if (!Boolean.getBoolean("benchmark.coldstart")) {
+            throw new SkipException("Cold-start benchmark disabled (use -Dbenchmark.coldstart=true)");
+        }
+    }
+
+    @Test
+    public void benchmarkColdStart() throws Exception {
+        int runs = Integer.getInteger("benchmark.runs", 5);
+        Map<String, Object> results = new LinkedHashMap<>();
+
+        BrowserStartup.resolveDriver();
+        for (boolean template : new boolean[]{true, false}) {
+            List<Long> session = new ArrayList<>();
+            List<Long> firstGet = new ArrayList<>();
+            for (int i = 0; i < runs; i++) {
+                long t0 = System.nanoTime();
+                Path profile = template ? BrowserStartup.cloneProfile() : null;
+                WebDriver driver = new ChromeDriver(BrowserStartup.chromeOptions(profile));
+                long t1 = System.nanoTime();
+                try {
+                    PerfRecorder.markFirstGet();
+                    driver.get(URL);
+                    firstGet.add((System.nanoTime() - t0) / 1_000_000);
+                } finally {
+                    driver.quit();
+                    BrowserStartup.discardProfile(profile);
+                }
+                session.add((t1 - t0) / 1_000_000);
+            }
+
+            String mode = template ? "template" : "fresh";
+            session.forEach(ms -> PerfRecorder.record("benchmark.coldStart." + mode + ".session", ms, 0));
+            results.put(mode, Map.of("sessionMs", session, "sessionToFirstGetMs", firstGet));
+            log.info("[BENCH] {} profile: session p50 {} / p90 {} ms, until first get loaded p50 {} ms",
+                    mode, PerfGate.percentile(session, 50), PerfGate.percentile(session, 90),
+                    PerfGate.percentile(firstGet, 50));
+        }
+
+        List<Long> jvmToFirstGet = PerfRecorder.latencies().get("coldStart.jvmToFirstGet");
+        if (jvmToFirstGet != null) {
+            results.put("jvmToFirstGetMs", jvmToFirstGet.get(0));
+            log.info("[BENCH] JVM start -> first driver.get: {} ms", jvmToFirstGet.get(0));
+        }
+
+        Files.createDirectories(Paths.get("reports"));
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(Paths.get("reports", "cold-start-benchmark.json").toFile(), results);
+    }
+}
@@ -0,0 +1,131 @@
+package com.assignment.tests;
+
+import com.assignment.pages.SignUpPage;
+import com.assignment.utils.DriverBackend;
+import com.assignment.utils.PerfGate;
+import com.assignment.utils.PerfRecorder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import org.testng.SkipException;
+import org.testng.annotations.*;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares driver backends: session start, per-test latency (whole sign-up flow), JVM heap growth and
+ * browser process RSS (Linux /proc; 0 for in-JVM HtmlUnit). Results go to the log and
+ * reports/driver-backend-benchmark.json.
+ *
+ * <p>All runs share one session, but each one loads a fresh page (see {@code SignUpPage.openPage}). The first run
+ * still pays for cold caches, so it is reported apart from the p50 of the reloaded runs.
+ *
+ * <p>Run with: {@code mvn -Phtmlunit -Dbenchmark.backends=chrome,firefox,htmlunit -Dtest=DriverBackendBenchmarkTest test}
+ * ({@code -Dbenchmark.runs=N}, default 3). Backends that cannot start are reported and skipped.
+ */
+public class DriverBackendBenchmarkTest {
+
+    private static final Logger log = LogManager.getLogger(DriverBackendBenchmarkTest.class);
+
+    @BeforeClass
+    public void checkEnabled() {
+        if (System.getProperty("benchmark.backends") == null) {
+            throw new SkipException("Backend benchmark disabled (use -Dbenchmark.backends=chrome,firefox,htmlunit)");
+        }
+    }
+
+    @Test
+    public void benchmarkBackends() throws IOException {
+        int runs = Math.max(1, Integer.getInteger("benchmark.runs", 3));
+        Map<String, Object> results = new LinkedHashMap<>();
+
+        for (String name : System.getProperty("benchmark.backends").split(",")) {
+            DriverBackend backend = DriverBackend.fromName(name);
+            long heapBefore = usedHeapAfterGc();
+            long t0 = System.nanoTime();
+            WebDriver raw;
+            try {
+                raw = backend.start();
+            } catch (RuntimeException e) {
+                log.warn("[BENCH] {} unavailable: {}", backend.backendName(), e.getMessage());
+                results.put(backend.backendName(), Map.of("error", String.valueOf(e.getMessage())));
+                continue;
+            }
+            long startMs = (System.nanoTime() - t0) / 1_000_000;
+
+            List<Long> latencies = new ArrayList<>();
+            int passed = 0;
+            long rssKb = 0;
+            try {
+                SignUpPage signUp = new SignUpPage(PerfRecorder.instrument(raw));
+                for (int i = 0; i < runs; i++) {
+                    long s = System.nanoTime();
+                    boolean ok;
+                    try {
+                        ok = SignUpFlow.run(signUp, "bench");
+                    } catch (WebDriverException e) {
+                        log.warn("[BENCH] {} run {} failed: {}", backend.backendName(), i + 1, e.getMessage());
+                        ok = false;
+                    }
+                    latencies.add((System.nanoTime() - s) / 1_000_000);
+                    if (ok) passed++;
+                }
+                rssKb = browserRssKb();
+            } finally {
+                backend.quit(raw);
+            }
+            long heapDeltaMb = Math.max(0, usedHeapAfterGc() - heapBefore) / (1024 * 1024);
+
+            latencies.forEach(ms -> PerfRecorder.record("benchmark.backend." + backend.backendName(), ms, 0));
+            Map<String, Object> r = new LinkedHashMap<>();
+            r.put("sessionStartMs", startMs);
+            r.put("testLatencyMs", latencies);
+            r.put("firstRunMs", latencies.get(0));
+            r.put("reloadedRunsP50Ms", runs > 1 ? (Long) Math.round(PerfGate.percentile(latencies.subList(1, runs), 50)) : null);
+            r.put("passed", passed + "/" + runs);
+            r.put("jvmHeapGrowthMb", heapDeltaMb);
+            r.put("browserRssMb", rssKb / 1024);
+            results.put(backend.backendName(), r);
+            log.info("[BENCH] {}: start {} ms, first run {} ms, reloaded runs p50 {} ms, passed {}/{}, JVM heap +{} MB, browser RSS {} MB",
+                    backend.backendName(), startMs, latencies.get(0), r.get("reloadedRunsP50Ms"),
+                    passed, runs, heapDeltaMb, rssKb / 1024);
+        }
+
+        Files.createDirectories(Paths.get("reports"));
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(Paths.get("reports", "driver-backend-benchmark.json").toFile(), results);
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /** Sum of VmRSS over all child processes of this JVM (driver + browser); 0 where /proc is missing. */
+    private static long browserRssKb() {
+        long total = 0;
+        for (ProcessHandle p : (Iterable<ProcessHandle>) ProcessHandle.current().descendants()::iterator) {
+            Path status = Paths.get("/proc", String.valueOf(p.pid()), "status");
+            try {
+                for (String line : Files.readAllLines(status)) {
+                    if (line.startsWith("VmRSS:")) total += Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            } catch (IOException | NumberFormatException ignored) {}
+        }
+        return total;
+    }
+}
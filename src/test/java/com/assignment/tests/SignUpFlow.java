@@ -0,0 +1,76 @@
+package com.assignment.tests;
+
+import com.assignment.pages.SignUpPage;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/** The sign-up journey, shared by the functional test, soak loops and benchmarks. */
+final class SignUpFlow {
+
+    static final String NAME = "Sarvesh Kumar Ojha";
+
+    // Step names (also the PerfRecorder step names in SignUpTest)
+    static final String OPEN_PAGE = "openPage";
+    static final String SELECT_LANGUAGE = "selectLanguage";
+    static final String FILL_FORM = "fillForm";
+    static final String ACCEPT_TERMS = "acceptTerms";
+    static final String CLICK_SIGN_UP = "clickSignUp";
+    static final String VERIFY_CONFIRMATION = "verifyConfirmation";
+
+    /** Wraps every step, e.g. to log or time it; must run the action and return its result. */
+    interface Steps {
+        <T> T step(String name, Supplier<T> action);
+
+        Steps PLAIN = new Steps() {
+            @Override
+            public <T> T step(String name, Supplier<T> action) {
+                return action.get();
+            }
+        };
+    }
+
+    private SignUpFlow() {}
+
+    /** Unique address per run: prefix + current millis @test.com. */
+    static String email(String prefix) {
+        return prefix + System.currentTimeMillis() + "@test.com";
+    }
+
+    /** Runs the whole flow once; true when the confirmation was shown. */
+    static boolean run(SignUpPage signUp, String emailPrefix) {
+        return run(signUp, email(emailPrefix), SignUpPage.FillMode.SCRIPT, Steps.PLAIN) == null;
+    }
+
+    /**
+     * Runs the whole flow once with every step passed through {@code steps}.
+     * Returns null on success, otherwise the step that failed (SELECT_LANGUAGE or VERIFY_CONFIRMATION).
+     */
+    static String run(SignUpPage signUp, String email, SignUpPage.FillMode mode, Steps steps) {
+        steps.step(OPEN_PAGE, () -> {
+            signUp.openPage();
+            return null;
+        });
+        if (!steps.step(SELECT_LANGUAGE, () -> signUp.validateAndSelectLanguage("English"))) return SELECT_LANGUAGE;
+
+        Map<SignUpPage.Field, String> details = new EnumMap<>(SignUpPage.Field.class);
+        details.put(SignUpPage.Field.NAME, NAME);
+        details.put(SignUpPage.Field.ORG, NAME);
+        details.put(SignUpPage.Field.EMAIL, email);
+        steps.step(FILL_FORM, () -> {
+            signUp.fillForm(details, mode);
+            return null;
+        });
+
+        steps.step(ACCEPT_TERMS, () -> {
+            signUp.acceptTerms();
+            return null;
+        });
+        steps.step(CLICK_SIGN_UP, () -> {
+            signUp.clickSignUp();
+            return null;
+        });
+        return steps.step(VERIFY_CONFIRMATION, signUp::verifyConfirmation) ? null : VERIFY_CONFIRMATION;
+    }
+}
@@ -0,0 +1,262 @@
+package com.assignment.tests;
+
+import com.assignment.pages.SignUpPage;
+import com.assignment.utils.DriverFactory;
+import com.assignment.utils.LeakDetector;
+import com.assignment.utils.PerfRecorder;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.*;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Soak mode: loops the sign-up flow on long-lived sessions (any -Dbrowser backend) for a configured duration, samples per-iteration
+ * latency, browser JS heap, DOM nodes, event listeners and live JVM old-gen heap, flags upward drift with
+ * {@link LeakDetector} and recycles the browser session when a threshold is hit.
+ *
+ * <p>Run with: {@code mvn -Dsoak.duration=PT2H -Dtest=SignUpSoakTest test} (ISO-8601 duration or minutes).
+ * Thresholds: {@code soak.recycle.iterations} (200), {@code soak.recycle.jsHeapMb} (512),
+ * {@code soak.recycle.nodes} (50000), {@code soak.leak.window} (60), {@code soak.leak.threshold} (0.2),
+ * {@code soak.failOnLeak} (true). Per-iteration samples go to reports/soak-*.csv.
+ */
+public class SignUpSoakTest {
+
+    private static final Logger log = LogManager.getLogger(SignUpSoakTest.class);
+
+    // Browser-side series start over with every new session
+    private static final String[] BROWSER_SERIES = {"jsHeapMb", "domNodes", "listeners", "latencyMs"};
+
+    private final int recycleIterations = Integer.getInteger("soak.recycle.iterations", 200);
+    private final double recycleJsHeapMb = Double.parseDouble(System.getProperty("soak.recycle.jsHeapMb", "512"));
+    private final double recycleNodes = Double.parseDouble(System.getProperty("soak.recycle.nodes", "50000"));
+
+    private final DriverFactory factory = DriverFactory.selected();
+
+    public WebDriver driver;
+    private WebDriver rawDriver; // undecorated, as handed out by the factory
+    private SignUpPage signUp;
+    private DevTools devTools;
+    private Duration duration;
+
+    @BeforeClass
+    public void checkEnabled() {
+        String spec = System.getProperty("soak.duration");
+        if (spec == null || spec.isBlank()) {
+            throw new SkipException("Soak mode disabled (use -Dsoak.duration=PT1H or minutes)");
+        }
+        duration = spec.trim().toUpperCase().startsWith("P") ? Duration.parse(spec.trim()) : Duration.ofMinutes(Long.parseLong(spec.trim()));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void teardown() {
+        closeSession();
+    }
+
+    @Test
+    public void soakSignUp() throws IOException {
+        int window = Integer.getInteger("soak.leak.window", 60);
+        double threshold = Double.parseDouble(System.getProperty("soak.leak.threshold", "0.2"));
+        LeakDetector leaks = new LeakDetector(window, Math.max(10, window / 3), threshold);
+
+        Files.createDirectories(Paths.get("reports"));
+        String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        Path csv = Paths.get("reports", "soak-" + stamp + ".csv");
+
+        long end = System.nanoTime() + duration.toNanos();
+        int iteration = 0, sessionIterations = 0, sessions = 0, failures = 0, startFailures = 0;
+        List<String> suspects = List.of();
+
+        log.info("Soak run for {} -> {}", duration, csv);
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(csv))) {
+            out.println("iteration,session,ok,latencyMs,jsHeapMb,domNodes,listeners,jvmHeapMb");
+            while (System.nanoTime() < end) {
+                if (driver == null) {
+                    try {
+                        openSession();
+                    } catch (WebDriverException e) {
+                        // e.g. SessionNotCreatedException during a recycle: count it, back off, retry
+                        iteration++;
+                        failures++;
+                        startFailures++;
+                        log.warn("[SOAK] Session start failed (iteration {}): {}", iteration, e.getMessage());
+                        out.printf("%d,%d,false,,,,,%n", iteration, sessions);
+                        out.flush();
+                        if (!backOff(startFailures)) break;
+                        continue;
+                    }
+                    startFailures = 0;
+                    sessions++;
+                    sessionIterations = 0;
+                    leaks.reset(BROWSER_SERIES);
+                }
+
+                iteration++;
+                sessionIterations++;
+                long start = System.nanoTime();
+                boolean ok;
+                try {
+                    ok = SignUpFlow.run(signUp, "soak");
+                } catch (WebDriverException | AssertionError e) {
+                    log.warn("Soak iteration {} failed: {}", iteration, e.getMessage());
+                    ok = false;
+                }
+                long latency = (System.nanoTime() - start) / 1_000_000;
+                if (!ok) failures++;
+                else PerfRecorder.record("soak.iteration", latency, 0);
+
+                Map<String, Double> m = sample();
+                m.put("latencyMs", (double) latency);
+                m.forEach(leaks::add);
+                out.printf("%d,%d,%b,%d,%.1f,%.0f,%.0f,%.1f%n", iteration, sessions, ok, latency,
+                        m.get("jsHeapMb"), m.get("domNodes"), m.get("listeners"), m.get("jvmHeapMb"));
+                out.flush();
+
+                suspects = leaks.suspects();
+                if (!suspects.isEmpty() && iteration % 10 == 0) suspects.forEach(s -> log.warn("[SOAK] Possible leak: {}", s));
+
+                String reason = recycleReason(ok, sessionIterations, m);
+                if (reason != null) {
+                    log.info("[SOAK] Recycling session after {} iterations: {}", sessionIterations, reason);
+                    closeSession();
+                }
+            }
+        }
+
+        log.info("[SOAK] {} iterations, {} sessions, {} failures", iteration, sessions, failures);
+        suspects.forEach(s -> log.warn("[SOAK] Leak suspected: {}", s));
+        if (!"false".equalsIgnoreCase(System.getProperty("soak.failOnLeak", "true"))) {
+            Assert.assertTrue(suspects.isEmpty(), "Upward drift detected during soak: " + suspects);
+        }
+    }
+
+    // ---------- Internals ----------
+
+    /** Browser metrics via CDP Performance.getMetrics where available, otherwise plain JS; JVM heap always. */
+    private Map<String, Double> sample() {
+        Map<String, Double> m = new LinkedHashMap<>();
+        m.put("jsHeapMb", Double.NaN);
+        m.put("domNodes", Double.NaN);
+        m.put("listeners", Double.NaN);
+
+        try {
+            if (devTools != null) {
+                Map<String, Object> result = devTools.send(new Command<>("Performance.getMetrics", Map.of(),
+                        input -> input.<Map<String, Object>>read(Json.MAP_TYPE)));
+                for (Object o : (List<?>) result.getOrDefault("metrics", List.of())) {
+                    Map<?, ?> metric = (Map<?, ?>) o;
+                    double value = ((Number) metric.get("value")).doubleValue();
+                    switch (String.valueOf(metric.get("name"))) {
+                        case "JSHeapUsedSize": m.put("jsHeapMb", value / (1024 * 1024)); break;
+                        case "Nodes": m.put("domNodes", value); break;
+                        case "JSEventListeners": m.put("listeners", value); break;
+                        default: break;
+                    }
+                }
+            } else {
+                Object heap = ((JavascriptExecutor) driver).executeScript(
+                        "return window.performance && performance.memory ? performance.memory.usedJSHeapSize : null;");
+                if (heap instanceof Number) m.put("jsHeapMb", ((Number) heap).doubleValue() / (1024 * 1024));
+                Object nodes = ((JavascriptExecutor) driver).executeScript("return document.getElementsByTagName('*').length;");
+                if (nodes instanceof Number) m.put("domNodes", ((Number) nodes).doubleValue());
+            }
+        } catch (WebDriverException | ClassCastException e) {
+            log.debug("Browser metrics unavailable: {}", e.getMessage());
+        }
+
+        m.put("jvmHeapMb", jvmLiveHeapMb());
+        return m;
+    }
+
+    /**
+     * Old-generation occupancy right after its last collection, i.e. what is still live. Plain heap "used"
+     * includes uncollected garbage and climbs between young GCs, which reads as a leak.
+     */
+    private static double jvmLiveHeapMb() {
+        long used = 0;
+        boolean found = false;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            String name = pool.getName().toLowerCase();
+            if (pool.getType() != MemoryType.HEAP || !(name.contains("old") || name.contains("tenured"))) continue;
+            MemoryUsage usage = pool.getCollectionUsage();
+            if (usage == null) continue;
+            used += usage.getUsed();
+            found = true;
+        }
+        return found ? used / (1024.0 * 1024) : Double.NaN;
+    }
+
+    /** Wait before retrying a failed session start (5 s, 10 s, ... up to 60 s); false when interrupted. */
+    private static boolean backOff(int attempt) {
+        try {
+            Thread.sleep(Math.min(60_000L, 5_000L * attempt));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private String recycleReason(boolean ok, int sessionIterations, Map<String, Double> m) {
+        if (!ok) return "iteration failed";
+        if (sessionIterations >= recycleIterations) return "iteration limit " + recycleIterations;
+        if (m.get("jsHeapMb") > recycleJsHeapMb) return String.format("JS heap %.0f MB > %.0f MB", m.get("jsHeapMb"), recycleJsHeapMb);
+        if (m.get("domNodes") > recycleNodes) return String.format("DOM nodes %.0f > %.0f", m.get("domNodes"), recycleNodes);
+        return null;
+    }
+
+    private void openSession() {
+        rawDriver = factory.start();
+        devTools = null;
+        if (rawDriver instanceof ChromiumDriver) {
+            try {
+                devTools = ((HasDevTools) rawDriver).getDevTools();
+                devTools.createSessionIfThereIsNotOne();
+                devTools.send(new Command<>("Performance.enable", Map.of()));
+            } catch (WebDriverException e) {
+                devTools = null;
+            }
+        }
+        driver = PerfRecorder.instrument(rawDriver);
+        signUp = new SignUpPage(driver);
+    }
+
+    private void closeSession() {
+        if (driver == null) return;
+        try {
+            factory.quit(rawDriver);
+        } catch (WebDriverException e) {
+            log.warn("Quit failed during soak recycle: {}", e.getMessage());
+        }
+        driver = null;
+        rawDriver = null;
+        devTools = null;
+    }
+}
@@ -0,0 +1,87 @@
+package com.assignment.utils;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+import java.util.Locale;
+
+/**
+ * Built-in driver backends.
+ * <ul>
+ *   <li>CHROME – full Chrome via {@link BrowserStartup} (profile template, cold-start tuning)</li>
+ *   <li>FIREFOX – Firefox, headless with the same -Dheadless switch as Chrome</li>
+ *   <li>HTMLUNIT – in-JVM HtmlUnit driver for fast pre-merge smoke runs; needs the htmlunit Maven
+ *       profile ({@code mvn -Phtmlunit test}) so it is loaded reflectively here</li>
+ * </ul>
+ */
+public enum DriverBackend implements DriverFactory {
+
+    CHROME {
+        @Override
+        public WebDriver start() {
+            return BrowserStartup.startChrome();
+        }
+
+        @Override
+        public void quit(WebDriver driver) {
+            if (driver != null) BrowserStartup.quit(driver);
+        }
+    },
+
+    FIREFOX {
+        private volatile boolean resolved;
+
+        @Override
+        public WebDriver start() {
+            if (!resolved && System.getProperty("webdriver.gecko.driver") == null) {
+                log.info("Resolving geckodriver (WebDriverManager)...");
+                WebDriverManager.firefoxdriver().setup();
+            }
+            resolved = true;
+
+            FirefoxOptions options = new FirefoxOptions();
+            options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+            if ("true".equalsIgnoreCase(System.getProperty("headless", "false"))) {
+                options.addArguments("-headless");
+            }
+            options.addArguments("--width=1920", "--height=1080");
+            return new FirefoxDriver(options);
+        }
+    },
+
+    HTMLUNIT {
+        private static final String DRIVER_CLASS = "org.openqa.selenium.htmlunit.HtmlUnitDriver";
+
+        @Override
+        public WebDriver start() {
+            try {
+                // HtmlUnitDriver(boolean enableJavascript)
+                return (WebDriver) Class.forName(DRIVER_CLASS).getConstructor(boolean.class).newInstance(true);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("HtmlUnit driver not on the classpath – run with -Phtmlunit", e);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot start HtmlUnit driver: " + e.getMessage(), e);
+            }
+        }
+    };
+
+    private static final Logger log = LogManager.getLogger(DriverBackend.class);
+
+    @Override
+    public String backendName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static DriverBackend fromName(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown browser '" + name + "' (chrome, firefox, htmlunit)", e);
+        }
+    }
+}
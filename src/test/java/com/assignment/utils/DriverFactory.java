@@ -0,0 +1,26 @@
+package com.assignment.utils;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Creates and disposes WebDriver sessions for one browser backend.
+ * Pick the backend with -Dbrowser=chrome|firefox|htmlunit (see {@link DriverBackend}).
+ */
+public interface DriverFactory {
+
+    /** Short backend name, e.g. "chrome". */
+    String backendName();
+
+    /** Start a new session. */
+    WebDriver start();
+
+    /** End a session started by {@link #start()} and release anything it owns. */
+    default void quit(WebDriver driver) {
+        if (driver != null) driver.quit();
+    }
+
+    /** Factory for -Dbrowser (default chrome). */
+    static DriverFactory selected() {
+        return DriverBackend.fromName(System.getProperty("browser", "chrome"));
+    }
+}
@@ -0,0 +1,430 @@
+package com.assignment.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import static com.assignment.utils.JsonLines.number;
+
+/**
+ * HAR record / replay through the Chrome DevTools Protocol (version independent raw commands).
+ *
+ * <p>record: every request/response of the run (bodies included) is written to the HAR file on {@link #stop()}.
+ * <br>replay: every request is answered from the HAR file via Fetch.requestPaused, matched by method,
+ * path + query and (masked) body, optionally delayed by a latency model. Nothing reaches the network.
+ *
+ * <p>System properties:
+ * <ul>
+ *   <li>{@code har.mode} – record | replay (unset = off)</li>
+ *   <li>{@code har.file} – HAR path (default har/signup.har)</li>
+ *   <li>{@code har.body.mask} – regex blanked out of request bodies before matching (default: 10+ digit runs,
+ *       i.e. the timestamp in the generated e-mail)</li>
+ *   <li>{@code har.latency} – none | recorded | fixed:MS | normal:MEAN,SD | lognormal:MEDIAN,SIGMA (default none)</li>
+ *   <li>{@code har.replay.unmatched} – 404 | passthrough (default 404)</li>
+ * </ul>
+ */
+public final class HarSession {
+
+    private static final Logger log = LogManager.getLogger(HarSession.class);
+    private static final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final DevTools devTools;
+    private final String mode;
+    private final Path file;
+    private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(2, r -> {
+        Thread t = new Thread(r, "har-session");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // record state
+    private final Map<String, Map<String, Object>> requests = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Object>> responses = new ConcurrentHashMap<>();
+    private final List<Map<String, Object>> entries = new CopyOnWriteArrayList<>();
+    private final List<CompletableFuture<?>> pending = new CopyOnWriteArrayList<>();
+
+    // replay state
+    private List<Map<String, Object>> recorded = Collections.emptyList();
+    private final Map<String, Integer> served = new ConcurrentHashMap<>();
+    private final Pattern bodyMask = Pattern.compile(System.getProperty("har.body.mask", "\\d{10,}"));
+    private final LatencyModel latency = LatencyModel.parse(System.getProperty("har.latency", "none"));
+    private final Random random = new Random();
+
+    private HarSession(DevTools devTools, String mode, Path file) {
+        this.devTools = devTools;
+        this.mode = mode;
+        this.file = file;
+    }
+
+    /** Attach to a freshly started driver according to -Dhar.mode; returns null when off or unsupported. */
+    public static HarSession start(WebDriver driver) {
+        String mode = System.getProperty("har.mode", "").trim().toLowerCase(Locale.ROOT);
+        if (mode.isEmpty()) return null;
+        if (!"record".equals(mode) && !"replay".equals(mode)) {
+            throw new IllegalArgumentException("har.mode must be record or replay, got: " + mode);
+        }
+        // Fetch / Network.getResponseBody are Chromium-only even where HasDevTools is implemented
+        if (!(driver instanceof ChromiumDriver)) {
+            log.warn("har.mode={} ignored: driver {} has no Chrome DevTools", mode, driver.getClass().getSimpleName());
+            return null;
+        }
+
+        Path file = Paths.get(System.getProperty("har.file", "har/signup.har"));
+        DevTools devTools = ((HasDevTools) driver).getDevTools();
+        devTools.createSessionIfThereIsNotOne();
+
+        HarSession session = new HarSession(devTools, mode, file);
+        try {
+            if ("record".equals(mode)) session.startRecording();
+            else session.startReplay();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot " + mode + " HAR " + file + ": " + e.getMessage(), e);
+        }
+        log.info("HAR {} mode active ({})", mode, file);
+        return session;
+    }
+
+    /** Replay matcher over already loaded entries, without a browser (unit tests). */
+    static HarSession forEntries(List<Map<String, Object>> entries) {
+        HarSession session = new HarSession(null, "replay", null);
+        session.recorded = entries;
+        return session;
+    }
+
+    /** Detach; in record mode waits for pending bodies and writes the HAR file. */
+    public void stop() {
+        try {
+            if ("record".equals(mode)) {
+                CompletableFuture.allOf(pending.toArray(CompletableFuture<?>[]::new)).get(10, TimeUnit.SECONDS);
+                writeHar();
+            }
+        } catch (Exception e) {
+            log.warn("HAR {} stop: {}", mode, e.getMessage());
+        } finally {
+            executor.shutdownNow();
+            try { devTools.clearListeners(); } catch (RuntimeException ignored) {}
+        }
+    }
+
+    // =================== Record ===================
+
+    private void startRecording() {
+        devTools.addListener(event("Network.requestWillBeSent"), p -> {
+            String id = String.valueOf(p.get("requestId"));
+            // A redirect reuses the requestId: close the previous hop with its redirect response first.
+            if (p.get("redirectResponse") instanceof Map && requests.containsKey(id)) {
+                entries.add(toEntry(requests.remove(id), map(p.get("redirectResponse")), null, false));
+            }
+            requests.put(id, p);
+        });
+        devTools.addListener(event("Network.responseReceived"), p ->
+                responses.put(String.valueOf(p.get("requestId")), map(p.get("response"))));
+        devTools.addListener(event("Network.loadingFinished"), p -> {
+            String id = String.valueOf(p.get("requestId"));
+            // Never call back into DevTools from its own listener thread.
+            pending.add(CompletableFuture.runAsync(() -> finish(id), executor));
+        });
+        devTools.addListener(event("Network.loadingFailed"), p -> {
+            String id = String.valueOf(p.get("requestId"));
+            requests.remove(id);
+            responses.remove(id);
+        });
+        devTools.send(command("Network.enable", Map.of()));
+    }
+
+    private void finish(String id) {
+        Map<String, Object> request = requests.remove(id);
+        Map<String, Object> response = responses.remove(id);
+        if (request == null || response == null) return;
+
+        String body = null;
+        boolean base64 = false;
+        try {
+            Map<String, Object> result = devTools.send(command("Network.getResponseBody", Map.of("requestId", id)));
+            body = (String) result.get("body");
+            base64 = Boolean.TRUE.equals(result.get("base64Encoded"));
+        } catch (RuntimeException noBody) {
+            // redirects, 204s and evicted bodies have none
+        }
+        entries.add(toEntry(request, response, body, base64));
+    }
+
+    private Map<String, Object> toEntry(Map<String, Object> sent, Map<String, Object> response, String body, boolean base64) {
+        Map<String, Object> req = map(sent.get("request"));
+        double wallTime = number(sent.get("wallTime"));
+
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("method", req.get("method"));
+        request.put("url", req.get("url"));
+        request.put("httpVersion", "HTTP/1.1");
+        request.put("headers", toHarHeaders(map(req.get("headers"))));
+        request.put("queryString", Collections.emptyList());
+        if (req.get("postData") != null) {
+            Map<String, Object> headers = map(req.get("headers"));
+            Object type = headers.getOrDefault("Content-Type", headers.getOrDefault("content-type", ""));
+            request.put("postData", Map.of("mimeType", String.valueOf(type), "text", req.get("postData")));
+        }
+        request.put("headersSize", -1);
+        request.put("bodySize", -1);
+
+        Map<String, Object> content = new LinkedHashMap<>();
+        content.put("size", body == null ? 0 : body.length());
+        content.put("mimeType", String.valueOf(response.getOrDefault("mimeType", "")));
+        if (body != null) content.put("text", body);
+        if (base64) content.put("encoding", "base64");
+
+        Map<String, Object> resp = new LinkedHashMap<>();
+        resp.put("status", ((Number) response.getOrDefault("status", 0)).intValue());
+        resp.put("statusText", String.valueOf(response.getOrDefault("statusText", "")));
+        resp.put("httpVersion", "HTTP/1.1");
+        resp.put("headers", toHarHeaders(map(response.get("headers"))));
+        resp.put("content", content);
+        Map<String, Object> headers = map(response.get("headers"));
+        resp.put("redirectURL", String.valueOf(headers.getOrDefault("Location", headers.getOrDefault("location", ""))));
+        resp.put("headersSize", -1);
+        resp.put("bodySize", -1);
+
+        // CDP timing: ms offsets from requestTime (seconds)
+        Map<String, Object> timing = map(response.get("timing"));
+        double wait = Math.max(0, number(timing.get("receiveHeadersEnd")) - number(timing.get("sendEnd")));
+        double total = Math.max(wait, number(timing.get("receiveHeadersEnd")));
+
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("startedDateTime", Instant.ofEpochMilli((long) (wallTime * 1000)).toString());
+        entry.put("time", total);
+        entry.put("request", request);
+        entry.put("response", resp);
+        entry.put("cache", Collections.emptyMap());
+        entry.put("timings", Map.of("send", 0, "wait", wait, "receive", Math.max(0, total - wait)));
+        return entry;
+    }
+
+    private void writeHar() throws IOException {
+        Map<String, Object> harLog = new LinkedHashMap<>();
+        harLog.put("version", "1.2");
+        harLog.put("creator", Map.of("name", "SignUpAutomation", "version", "1.0"));
+        harLog.put("entries", new ArrayList<>(entries));
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+        mapper.writeValue(file.toFile(), Map.of("log", harLog));
+        log.info("HAR recorded: {} entries -> {}", entries.size(), file);
+    }
+
+    // =================== Replay ===================
+
+    @SuppressWarnings("unchecked")
+    private void startReplay() throws IOException {
+        Map<String, Object> har = mapper.readValue(file.toFile(), Map.class);
+        recorded = (List<Map<String, Object>>) map(har.get("log")).getOrDefault("entries", Collections.emptyList());
+
+        devTools.addListener(event("Fetch.requestPaused"), p -> executor.execute(() -> answer(p)));
+        devTools.send(command("Fetch.enable", Map.of("patterns", List.of(Map.of("urlPattern", "*", "requestStage", "Request")))));
+        log.info("HAR replay: {} recorded entries", recorded.size());
+    }
+
+    private void answer(Map<String, Object> paused) {
+        String requestId = String.valueOf(paused.get("requestId"));
+        Map<String, Object> req = map(paused.get("request"));
+        String method = String.valueOf(req.get("method"));
+        String url = String.valueOf(req.get("url"));
+        String body = req.get("postData") == null ? null : String.valueOf(req.get("postData"));
+
+        Map<String, Object> entry = match(method, url, body);
+        try {
+            if (entry == null) {
+                if ("passthrough".equalsIgnoreCase(System.getProperty("har.replay.unmatched", "404"))) {
+                    devTools.send(command("Fetch.continueRequest", Map.of("requestId", requestId)));
+                } else {
+                    log.debug("HAR replay: no entry for {} {}", method, url);
+                    devTools.send(command("Fetch.fulfillRequest", Map.of("requestId", requestId, "responseCode", 404,
+                            "responseHeaders", List.of(), "body", "")));
+                }
+                return;
+            }
+
+            Map<String, Object> fulfill = fulfillParams(requestId, map(entry.get("response")));
+            long delay = latency.sample(number(entry.get("time")), random);
+            if (delay > 0) executor.schedule(() -> sendQuietly(fulfill), delay, TimeUnit.MILLISECONDS);
+            else devTools.send(command("Fetch.fulfillRequest", fulfill));
+        } catch (RuntimeException e) {
+            log.warn("HAR replay failed for {} {}: {}", method, url, e.getMessage());
+        }
+    }
+
+    /** Same method + path/query; prefer equal masked body; repeated requests walk through recorded order. */
+    Map<String, Object> match(String method, String url, String body) {
+        String key = method + " " + pathAndQuery(url);
+        List<Map<String, Object>> sameRoute = new ArrayList<>();
+        List<Map<String, Object>> sameBody = new ArrayList<>();
+        for (Map<String, Object> e : recorded) {
+            Map<String, Object> req = map(e.get("request"));
+            if (!key.equals(req.get("method") + " " + pathAndQuery(String.valueOf(req.get("url"))))) continue;
+            sameRoute.add(e);
+            Object recBody = map(req.get("postData")).get("text");
+            if (body == null ? recBody == null : recBody != null && mask(body).equals(mask(String.valueOf(recBody)))) {
+                sameBody.add(e);
+            }
+        }
+        List<Map<String, Object>> pool = sameBody.isEmpty() ? sameRoute : sameBody;
+        if (pool.isEmpty()) return null;
+        int n = served.merge(key + "#" + (sameBody.isEmpty() ? "any" : "body"), 1, Integer::sum) - 1;
+        return pool.get(Math.min(n, pool.size() - 1));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> fulfillParams(String requestId, Map<String, Object> response) {
+        Map<String, Object> content = map(response.get("content"));
+        String text = content.get("text") == null ? "" : String.valueOf(content.get("text"));
+        String base64 = "base64".equals(content.get("encoding"))
+                ? text : Base64.getEncoder().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+
+        List<Map<String, Object>> headers = new ArrayList<>();
+        for (Object h : (List<Object>) response.getOrDefault("headers", Collections.emptyList())) {
+            Map<String, Object> header = map(h);
+            String name = String.valueOf(header.get("name")).toLowerCase(Locale.ROOT);
+            // The stored body is already decoded and may differ in length
+            if (name.equals("content-encoding") || name.equals("content-length") || name.equals("transfer-encoding")) continue;
+            headers.add(Map.of("name", header.get("name"), "value", String.valueOf(header.get("value"))));
+        }
+
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("requestId", requestId);
+        params.put("responseCode", ((Number) response.getOrDefault("status", 200)).intValue());
+        params.put("responseHeaders", headers);
+        params.put("body", base64);
+        return params;
+    }
+
+    private void sendQuietly(Map<String, Object> fulfill) {
+        try {
+            devTools.send(command("Fetch.fulfillRequest", fulfill));
+        } catch (RuntimeException e) {
+            log.debug("HAR replay: delayed fulfill failed: {}", e.getMessage());
+        }
+    }
+
+    // =================== Helpers ===================
+
+    /** Injected response delay in ms. */
+    static final class LatencyModel {
+        private final String kind;
+        private final double a;
+        private final double b;
+
+        private LatencyModel(String kind, double a, double b) {
+            this.kind = kind;
+            this.a = a;
+            this.b = b;
+        }
+
+        /** Parse a har.latency spec; IllegalArgumentException for unknown kinds or missing/bad/negative numbers. */
+        static LatencyModel parse(String spec) {
+            String[] parts = spec.trim().toLowerCase(Locale.ROOT).split(":", 2);
+            int arity;
+            switch (parts[0]) {
+                case "none":
+                case "recorded":
+                    arity = 0;
+                    break;
+                case "fixed":
+                    arity = 1;
+                    break;
+                case "normal":
+                case "lognormal":
+                    arity = 2;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown har.latency: " + spec);
+            }
+            String[] args = parts.length > 1 ? parts[1].split(",", -1) : new String[0];
+            if (args.length != arity) {
+                throw new IllegalArgumentException("har.latency " + parts[0] + " takes " + arity + " number(s): " + spec);
+            }
+            double[] values = new double[2];
+            for (int i = 0; i < arity; i++) {
+                try {
+                    values[i] = Double.parseDouble(args[i].trim());
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid number in har.latency: " + spec, e);
+                }
+                if (!(values[i] >= 0) || Double.isInfinite(values[i])) {
+                    throw new IllegalArgumentException("har.latency numbers must be finite and >= 0: " + spec);
+                }
+            }
+            return new LatencyModel(parts[0], values[0], values[1]);
+        }
+
+        long sample(double recordedMs, Random random) {
+            switch (kind) {
+                case "recorded": return Math.round(recordedMs);
+                case "fixed": return Math.round(a);
+                case "normal": return Math.max(0, Math.round(a + b * random.nextGaussian()));
+                case "lognormal": return Math.round(a * Math.exp(b * random.nextGaussian()));
+                default: return 0;
+            }
+        }
+    }
+
+    private String mask(String body) {
+        return bodyMask.matcher(body).replaceAll("#");
+    }
+
+    private static String pathAndQuery(String url) {
+        try {
+            URI uri = URI.create(url);
+            return (uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath())
+                    + (uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery());
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+
+    private static List<Map<String, Object>> toHarHeaders(Map<String, Object> headers) {
+        List<Map<String, Object>> out = new ArrayList<>();
+        headers.forEach((k, v) -> out.add(Map.of("name", k, "value", String.valueOf(v))));
+        return out;
+    }
+
+    private static Event<Map<String, Object>> event(String name) {
+        return new Event<>(name, input -> input.read(Json.MAP_TYPE));
+    }
+
+    private static Command<Map<String, Object>> command(String name, Map<String, Object> params) {
+        return new Command<>(name, params, input -> input.read(Json.MAP_TYPE));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> map(Object o) {
+        return o instanceof Map ? (Map<String, Object>) o : Collections.emptyMap();
+    }
+}
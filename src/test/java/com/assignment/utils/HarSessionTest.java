@@ -0,0 +1,143 @@
+package com.assignment.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class HarSessionTest {
+
+    private static final String SIGNUP = "https://jt-dev.azurewebsites.net/api/signup";
+
+    // =================== Matching ===================
+
+    @Test
+    public void maskedTimestampStillMatchesBody() {
+        HarSession har = HarSession.forEntries(List.of(
+                entry("POST", SIGNUP, "{\"email\":\"signup1712345678901@test.com\",\"lang\":\"en\"}", 201)));
+
+        Map<String, Object> hit = har.match("POST", SIGNUP, "{\"email\":\"signup1800000000000@test.com\",\"lang\":\"en\"}");
+        Assert.assertEquals(status(hit), 201);
+    }
+
+    @Test
+    public void matchesOnMethodPathAndQueryOnly() {
+        HarSession har = HarSession.forEntries(List.of(
+                entry("GET", "https://jt-dev.azurewebsites.net/api/languages?locale=en", null, 200)));
+
+        Assert.assertNotNull(har.match("GET", "http://localhost:8080/api/languages?locale=en", null), "host ignored");
+        Assert.assertNull(har.match("GET", "https://jt-dev.azurewebsites.net/api/languages?locale=de", null));
+        Assert.assertNull(har.match("POST", "https://jt-dev.azurewebsites.net/api/languages?locale=en", null));
+        Assert.assertNull(har.match("GET", "https://jt-dev.azurewebsites.net/api/other", null));
+    }
+
+    @Test
+    public void equalBodyWinsOverRouteOnly() {
+        HarSession har = HarSession.forEntries(List.of(
+                entry("POST", SIGNUP, "{\"name\":\"a\"}", 400),
+                entry("POST", SIGNUP, "{\"name\":\"b\"}", 201)));
+
+        Assert.assertEquals(status(har.match("POST", SIGNUP, "{\"name\":\"b\"}")), 201, "body pool");
+        // No recorded body matches: fall back to the route pool, which has its own position
+        Assert.assertEquals(status(har.match("POST", SIGNUP, "{\"name\":\"c\"}")), 400, "any pool, first");
+        Assert.assertEquals(status(har.match("POST", SIGNUP, "{\"name\":\"c\"}")), 201, "any pool, second");
+    }
+
+    @Test
+    public void repeatedRequestsWalkRecordedOrderAndStickAtLast() {
+        HarSession har = HarSession.forEntries(List.of(
+                entry("GET", "https://host/api/status", null, 202),
+                entry("GET", "https://host/api/status", null, 202),
+                entry("GET", "https://host/api/status", null, 200)));
+
+        List<Integer> statuses = new ArrayList<>();
+        for (int i = 0; i < 5; i++) statuses.add(status(har.match("GET", "https://host/api/status", null)));
+        Assert.assertEquals(statuses, List.of(202, 202, 200, 200, 200));
+    }
+
+    @Test
+    public void requestWithoutBodyPrefersEntriesWithoutBody() {
+        HarSession har = HarSession.forEntries(List.of(
+                entry("POST", SIGNUP, "{\"name\":\"a\"}", 400),
+                entry("POST", SIGNUP, null, 204)));
+
+        Assert.assertEquals(status(har.match("POST", SIGNUP, null)), 204);
+    }
+
+    @Test
+    public void bodyMaskIsConfigurable() {
+        System.setProperty("har.body.mask", "\"token\":\"[^\"]*\"");
+        try {
+            HarSession har = HarSession.forEntries(List.of(
+                    entry("POST", SIGNUP, "{\"token\":\"abc\",\"n\":1}", 400),
+                    entry("POST", SIGNUP, "{\"token\":\"xyz\",\"n\":2}", 201)));
+            Assert.assertEquals(status(har.match("POST", SIGNUP, "{\"token\":\"other\",\"n\":2}")), 201);
+        } finally {
+            System.clearProperty("har.body.mask");
+        }
+    }
+
+    // =================== Latency model ===================
+
+    @Test
+    public void deterministicLatencyModels() {
+        Random random = new Random(1);
+        Assert.assertEquals(HarSession.LatencyModel.parse("none").sample(321, random), 0);
+        Assert.assertEquals(HarSession.LatencyModel.parse("recorded").sample(123.6, random), 124);
+        Assert.assertEquals(HarSession.LatencyModel.parse(" Fixed:250 ").sample(999, random), 250);
+        Assert.assertEquals(HarSession.LatencyModel.parse("lognormal:120,0").sample(999, random), 120);
+    }
+
+    @Test
+    public void normalLatencyIsNeverNegative() {
+        HarSession.LatencyModel model = HarSession.LatencyModel.parse("normal:10,100");
+        Random random = new Random(7);
+        for (int i = 0; i < 1000; i++) Assert.assertTrue(model.sample(0, random) >= 0);
+    }
+
+    @Test
+    public void lognormalLatencyCentresOnMedian() {
+        HarSession.LatencyModel model = HarSession.LatencyModel.parse("lognormal:120,0.4");
+        Random random = new Random(7);
+        List<Long> samples = new ArrayList<>();
+        for (int i = 0; i < 2001; i++) samples.add(model.sample(0, random));
+        double median = PerfGate.percentile(samples, 50);
+        Assert.assertTrue(median > 108 && median < 132, "median " + median);
+    }
+
+    @DataProvider
+    public Object[][] badSpecs() {
+        return new Object[][]{
+                {"gaussian:1,2"}, {""}, {"fixed"}, {"fixed:"}, {"fixed:abc"}, {"fixed:10,20"}, {"normal:100"},
+                {"normal:100,x"}, {"lognormal:120,0.4,1"}, {"fixed:-5"}, {"normal:NaN,1"}, {"recorded:10"}};
+    }
+
+    @Test(dataProvider = "badSpecs", expectedExceptions = IllegalArgumentException.class)
+    public void unparseableLatencySpecsAreRejected(String spec) {
+        HarSession.LatencyModel.parse(spec);
+    }
+
+    // =================== Helpers ===================
+
+    private static Map<String, Object> entry(String method, String url, String body, int status) {
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("method", method);
+        request.put("url", url);
+        if (body != null) request.put("postData", Map.of("mimeType", "application/json", "text", body));
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("request", request);
+        entry.put("response", Map.of("status", status));
+        return entry;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int status(Map<String, Object> entry) {
+        Assert.assertNotNull(entry, "no matching entry");
+        return ((Number) ((Map<String, Object>) entry.get("response")).get("status")).intValue();
+    }
+}
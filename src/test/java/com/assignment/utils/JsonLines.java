@@ -0,0 +1,51 @@
+package com.assignment.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/** Append-only JSON Lines history files (one record per run) plus small helpers for untyped JSON maps. */
+public final class JsonLines {
+
+    private static final Logger log = LogManager.getLogger(JsonLines.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private JsonLines() {}
+
+    /** Append one record as a single line, creating the file and its directory when needed. */
+    public static void append(Path file, Object record) throws IOException {
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+        Files.write(file, (mapper.writeValueAsString(record) + System.lineSeparator()).getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /** The last {@code max} records, oldest first; empty when the file is missing or unreadable. */
+    @SuppressWarnings("unchecked")
+    public static List<Map<String, Object>> tail(Path file, int max) {
+        List<Map<String, Object>> records = new ArrayList<>();
+        if (!Files.exists(file)) return records;
+        try {
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            for (String l : lines.subList(Math.max(0, lines.size() - max), lines.size())) {
+                if (!l.isBlank()) records.add(mapper.readValue(l, Map.class));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not read {}: {}", file, e.getMessage());
+        }
+        return records;
+    }
+
+    /** JSON number as double; 0 for null or anything else. */
+    public static double number(Object o) {
+        return o instanceof Number ? ((Number) o).doubleValue() : 0;
+    }
+}
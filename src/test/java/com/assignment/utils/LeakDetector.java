@@ -0,0 +1,80 @@
+package com.assignment.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Upward-drift heuristic for soak runs. For every series (latency, heap, DOM nodes, ...) it fits a
+ * Theil-Sen slope over the last {@code window} samples. A leak is suspected when the fitted growth
+ * across that window exceeds {@code threshold} of the series' starting level and most
+ * consecutive steps go up. Theil-Sen ignores the odd GC drop or slow iteration that would skew a
+ * least-squares fit.
+ */
+public class LeakDetector {
+
+    private final int window;
+    private final int minSamples;
+    private final double threshold;
+    private final Map<String, List<Double>> series = new LinkedHashMap<>();
+
+    public LeakDetector(int window, int minSamples, double threshold) {
+        this.window = window;
+        this.minSamples = minSamples;
+        this.threshold = threshold;
+    }
+
+    public void add(String name, double value) {
+        if (Double.isNaN(value)) return;
+        List<Double> values = series.computeIfAbsent(name, k -> new ArrayList<>());
+        values.add(value);
+        if (values.size() > window) values.remove(0);
+    }
+
+    /** Drop the given series (e.g. browser-side metrics after a session was recycled). */
+    public void reset(String... names) {
+        for (String n : names) series.remove(n);
+    }
+
+    /** One line per series that looks like it is leaking. */
+    public List<String> suspects() {
+        List<String> out = new ArrayList<>();
+        for (Map.Entry<String, List<Double>> e : series.entrySet()) {
+            List<Double> v = e.getValue();
+            if (v.size() < minSamples) continue;
+
+            double slope = theilSen(v);
+            double start = median(v.subList(0, Math.max(1, v.size() / 4)));
+            double growth = slope * (v.size() - 1);
+            double relative = start == 0 ? (growth > 0 ? Double.POSITIVE_INFINITY : 0) : growth / Math.abs(start);
+
+            int ups = 0;
+            for (int i = 1; i < v.size(); i++) if (v.get(i) > v.get(i - 1)) ups++;
+            double upRatio = ups / (double) (v.size() - 1);
+
+            if (relative > threshold && upRatio >= 0.5) {
+                out.add(String.format("%s grows %.1f per iteration (+%.0f%% over %d samples, %.0f%% of steps up)",
+                        e.getKey(), slope, relative * 100, v.size(), upRatio * 100));
+            }
+        }
+        return out;
+    }
+
+    static double theilSen(List<Double> v) {
+        List<Double> slopes = new ArrayList<>();
+        for (int i = 0; i < v.size(); i++) {
+            for (int j = i + 1; j < v.size(); j++) slopes.add((v.get(j) - v.get(i)) / (j - i));
+        }
+        return median(slopes);
+    }
+
+    private static double median(List<Double> values) {
+        if (values.isEmpty()) return 0;
+        List<Double> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        int n = sorted.size();
+        return n % 2 == 1 ? sorted.get(n / 2) : (sorted.get(n / 2 - 1) + sorted.get(n / 2)) / 2;
+    }
+}
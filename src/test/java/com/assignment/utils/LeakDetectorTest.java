@@ -0,0 +1,97 @@
+package com.assignment.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class LeakDetectorTest {
+
+    private static final int SAMPLES = 60;
+
+    @Test
+    public void flatNoisySeriesIsNotFlagged() {
+        LeakDetector detector = new LeakDetector(SAMPLES, 20, 0.2);
+        Random random = new Random(42);
+        for (int i = 0; i < SAMPLES; i++) detector.add("heapMb", 100 + random.nextDouble() * 10 - 5);
+        Assert.assertEquals(detector.suspects(), List.of());
+    }
+
+    @Test
+    public void linearGrowthIsFlagged() {
+        LeakDetector detector = new LeakDetector(SAMPLES, 20, 0.2);
+        Random random = new Random(42);
+        for (int i = 0; i < SAMPLES; i++) detector.add("heapMb", 100 + 2 * i + random.nextDouble() * 2 - 1);
+
+        List<String> suspects = detector.suspects();
+        Assert.assertEquals(suspects.size(), 1, suspects.toString());
+        Assert.assertTrue(suspects.get(0).startsWith("heapMb grows 2."), suspects.get(0));
+    }
+
+    @Test
+    public void singleDropOnFlatSeriesIsNotFlagged() {
+        LeakDetector detector = new LeakDetector(SAMPLES, 20, 0.2);
+        for (int i = 0; i < SAMPLES; i++) detector.add("heapMb", i == 30 ? 50 : 200);
+        Assert.assertEquals(detector.suspects(), List.of());
+    }
+
+    @Test
+    public void growthSurvivesOneGcDrop() {
+        LeakDetector detector = new LeakDetector(SAMPLES, 20, 0.2);
+        // A full GC frees 30 MB halfway through, then the heap keeps climbing at the same rate
+        for (int i = 0; i < SAMPLES; i++) detector.add("heapMb", 100 + 2 * i - (i >= 30 ? 30 : 0));
+        Assert.assertEquals(detector.suspects().size(), 1, detector.suspects().toString());
+    }
+
+    @Test
+    public void tooFewSamplesAreNotJudged() {
+        LeakDetector detector = new LeakDetector(SAMPLES, 20, 0.2);
+        for (int i = 0; i < 19; i++) detector.add("domNodes", 1000 + 100 * i);
+        Assert.assertEquals(detector.suspects(), List.of());
+    }
+
+    @Test
+    public void onlyTheLastWindowCounts() {
+        LeakDetector detector = new LeakDetector(SAMPLES, 20, 0.2);
+        for (int i = 0; i < SAMPLES; i++) detector.add("latencyMs", 100 + 10 * i);
+        for (int i = 0; i < SAMPLES; i++) detector.add("latencyMs", 700);
+        Assert.assertEquals(detector.suspects(), List.of(), "early growth has left the window");
+    }
+
+    @Test
+    public void resetDropsTheSeries() {
+        LeakDetector detector = new LeakDetector(SAMPLES, 20, 0.2);
+        for (int i = 0; i < SAMPLES; i++) {
+            detector.add("domNodes", 1000 + 50 * i);
+            detector.add("heapMb", 100 + 2 * i);
+        }
+        detector.reset("domNodes");
+
+        List<String> suspects = detector.suspects();
+        Assert.assertEquals(suspects.size(), 1, suspects.toString());
+        Assert.assertTrue(suspects.get(0).startsWith("heapMb"), suspects.get(0));
+    }
+
+    @Test
+    public void nanSamplesAreIgnored() {
+        LeakDetector detector = new LeakDetector(SAMPLES, 20, 0.2);
+        for (int i = 0; i < SAMPLES; i++) detector.add("heapMb", i % 2 == 0 ? Double.NaN : 100);
+        Assert.assertEquals(detector.suspects(), List.of());
+    }
+
+    @Test
+    public void theilSenFitsAnExactLine() {
+        List<Double> line = new ArrayList<>();
+        for (int i = 0; i < 10; i++) line.add(5 + 3.0 * i);
+        Assert.assertEquals(LeakDetector.theilSen(line), 3.0, 1e-9);
+    }
+
+    @Test
+    public void theilSenIgnoresAnOutlier() {
+        List<Double> line = new ArrayList<>();
+        for (int i = 0; i < 10; i++) line.add(i == 4 ? 500 : 5 + 3.0 * i);
+        Assert.assertEquals(LeakDetector.theilSen(line), 3.0, 1e-9);
+    }
+}
@@ -0,0 +1,189 @@
+package com.assignment.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares this run's step timings and command counts (from {@link PerfRecorder}) to the baseline
+ * kept in the repo, and refreshes that baseline on request.
+ *
+ * <p>Latency: a normal run records one sample per step, so the current median must stay under the
+ * baseline p90 plus a tolerance. Only with at least {@value #MIN_SAMPLES_FOR_TEST} samples on both
+ * sides (soak loops, repeated steps) is a one-sided Mann-Whitney U test used instead. Command counts are nearly deterministic, so any growth beyond a small
+ * tolerance over the baseline max is a regression.
+ *
+ * <p>System properties:
+ * <ul>
+ *   <li>{@code perf.gate} – enable the gate (default true)</li>
+ *   <li>{@code perf.baseline.file} – baseline path (default perf/baseline.json)</li>
+ *   <li>{@code perf.baseline.update} – write this run into the baseline instead of checking</li>
+ *   <li>{@code perf.baseline.window} – samples kept per step (default 20)</li>
+ *   <li>{@code perf.tolerance} – allowed slowdown over baseline p90 (default 0.25 = 25%)</li>
+ *   <li>{@code perf.minDeltaMs} – ignore slowdowns smaller than this (default 250)</li>
+ *   <li>{@code perf.commands.tolerance} – allowed command-count growth (default 0.10)</li>
+ * </ul>
+ */
+public final class PerfGate {
+
+    private static final Logger log = LogManager.getLogger(PerfGate.class);
+    private static final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    static final int MIN_SAMPLES_FOR_TEST = 5;
+    // one-sided alpha = 0.01
+    static final double Z_CRITICAL = 2.326;
+
+    /** On-disk baseline format. */
+    public static class Baseline {
+        public String updated;
+        public Map<String, StepBaseline> steps = new LinkedHashMap<>();
+    }
+
+    public static class StepBaseline {
+        public List<Long> latencyMs = new ArrayList<>();
+        public List<Long> commands = new ArrayList<>();
+    }
+
+    private PerfGate() {}
+
+    public static boolean enabled() {
+        return !"false".equalsIgnoreCase(System.getProperty("perf.gate", "true"));
+    }
+
+    public static boolean updateRequested() {
+        return "true".equalsIgnoreCase(System.getProperty("perf.baseline.update", "false"));
+    }
+
+    public static Path baselineFile() {
+        return Paths.get(System.getProperty("perf.baseline.file", "perf/baseline.json"));
+    }
+
+    /** Check the current run; returns human-readable regressions (empty = pass). */
+    public static List<String> check() throws IOException {
+        Path file = baselineFile();
+        if (!Files.exists(file)) {
+            log.warn("No performance baseline at {} – run with -Pperf-baseline to create one", file);
+            return Collections.emptyList();
+        }
+        Baseline baseline = mapper.readValue(file.toFile(), Baseline.class);
+        return compare(baseline, PerfRecorder.latencies(), PerfRecorder.commands());
+    }
+
+    /** Append this run's samples to the baseline, keeping the newest perf.baseline.window per step. */
+    public static void updateBaseline() throws IOException {
+        Path file = baselineFile();
+        Baseline baseline = Files.exists(file) ? mapper.readValue(file.toFile(), Baseline.class) : new Baseline();
+        int window = Integer.getInteger("perf.baseline.window", 20);
+
+        PerfRecorder.latencies().forEach((step, ms) -> {
+            StepBaseline sb = baseline.steps.computeIfAbsent(step, k -> new StepBaseline());
+            sb.latencyMs.addAll(ms);
+            trim(sb.latencyMs, window);
+        });
+        PerfRecorder.commands().forEach((step, cmds) -> {
+            StepBaseline sb = baseline.steps.computeIfAbsent(step, k -> new StepBaseline());
+            sb.commands.addAll(cmds);
+            trim(sb.commands, window);
+        });
+        baseline.updated = LocalDateTime.now().toString();
+
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+        mapper.writeValue(file.toFile(), baseline);
+        log.info("Performance baseline updated: {}", file);
+    }
+
+    static List<String> compare(Baseline baseline, Map<String, List<Long>> latencies, Map<String, List<Long>> commands) {
+        double tolerance = Double.parseDouble(System.getProperty("perf.tolerance", "0.25"));
+        long minDeltaMs = Long.getLong("perf.minDeltaMs", 250L);
+        double cmdTolerance = Double.parseDouble(System.getProperty("perf.commands.tolerance", "0.10"));
+
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, List<Long>> e : latencies.entrySet()) {
+            StepBaseline sb = baseline.steps.get(e.getKey());
+            if (sb == null || sb.latencyMs.isEmpty()) continue;
+
+            List<Long> current = e.getValue();
+            double curMedian = percentile(current, 50);
+            double baseMedian = percentile(sb.latencyMs, 50);
+            double baseP90 = percentile(sb.latencyMs, 90);
+
+            boolean slower;
+            String how;
+            if (current.size() >= MIN_SAMPLES_FOR_TEST && sb.latencyMs.size() >= MIN_SAMPLES_FOR_TEST) {
+                double z = mannWhitneyZ(current, sb.latencyMs);
+                slower = z > Z_CRITICAL && curMedian - baseMedian > minDeltaMs;
+                how = String.format("Mann-Whitney z=%.2f", z);
+            } else {
+                double limit = Math.max(baseP90 * (1 + tolerance), baseP90 + minDeltaMs);
+                slower = curMedian > limit;
+                how = String.format("limit %.0f ms", limit);
+            }
+            if (slower) {
+                regressions.add(String.format("%s latency: median %.0f ms vs baseline median %.0f / p90 %.0f ms (%s)",
+                        e.getKey(), curMedian, baseMedian, baseP90, how));
+            }
+
+            List<Long> curCmds = commands.getOrDefault(e.getKey(), Collections.emptyList());
+            if (!curCmds.isEmpty() && !sb.commands.isEmpty()) {
+                double baseMax = Collections.max(sb.commands);
+                double cur = percentile(curCmds, 50);
+                if (cur > baseMax * (1 + cmdTolerance) && cur - baseMax >= 1) {
+                    regressions.add(String.format("%s commands: %.0f vs baseline max %.0f", e.getKey(), cur, baseMax));
+                }
+            }
+        }
+        return regressions;
+    }
+
+    /** Nearest-rank percentile. */
+    public static double percentile(List<Long> values, double pct) {
+        if (values.isEmpty()) return 0;
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        int rank = (int) Math.ceil(pct / 100.0 * sorted.size());
+        return sorted.get(Math.max(0, Math.min(sorted.size() - 1, rank - 1)));
+    }
+
+    /** z-score of U for "current is slower than baseline" (normal approximation, tie-corrected ranks and variance). */
+    static double mannWhitneyZ(List<Long> current, List<Long> baseline) {
+        int n1 = current.size(), n2 = baseline.size();
+        List<long[]> all = new ArrayList<>(); // {value, group}
+        for (long v : current) all.add(new long[]{v, 1});
+        for (long v : baseline) all.add(new long[]{v, 2});
+        all.sort((a, b) -> Long.compare(a[0], b[0]));
+
+        double rankSum1 = 0;
+        double tieTerm = 0; // sum of t^3 - t over groups of t tied values
+        int i = 0;
+        while (i < all.size()) {
+            int j = i;
+            while (j + 1 < all.size() && all.get(j + 1)[0] == all.get(i)[0]) j++;
+            double avgRank = (i + j + 2) / 2.0;
+            for (int k = i; k <= j; k++) if (all.get(k)[1] == 1) rankSum1 += avgRank;
+            double t = j - i + 1;
+            tieTerm += t * t * t - t;
+            i = j + 1;
+        }
+        int n = n1 + n2;
+        double u1 = rankSum1 - n1 * (n1 + 1) / 2.0;
+        double mean = n1 * n2 / 2.0;
+        double variance = n < 2 ? 0 : n1 * n2 / 12.0 * ((n + 1) - tieTerm / ((double) n * (n - 1)));
+        return variance <= 0 ? 0 : (u1 - mean) / Math.sqrt(variance);
+    }
+
+    private static void trim(List<Long> list, int window) {
+        while (list.size() > window) list.remove(0);
+    }
+}
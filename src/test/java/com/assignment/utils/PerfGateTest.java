@@ -0,0 +1,141 @@
+package com.assignment.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+public class PerfGateTest {
+
+    private static final String STEP = "openPage";
+    private static final String[] PROPS = {"perf.tolerance", "perf.minDeltaMs", "perf.commands.tolerance"};
+
+    private final Map<String, String> saved = new HashMap<>();
+
+    // compare() reads its thresholds from system properties; test the defaults whatever the build passes in
+    @BeforeClass
+    public void clearThresholds() {
+        for (String p : PROPS) {
+            String v = System.clearProperty(p);
+            if (v != null) saved.put(p, v);
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void restoreThresholds() {
+        saved.forEach(System::setProperty);
+    }
+
+    @Test
+    public void equalSamplesGiveZeroZ() {
+        List<Long> same = range(1000, 10);
+        Assert.assertEquals(PerfGate.mannWhitneyZ(same, same), 0.0, 1e-9);
+    }
+
+    @Test
+    public void allTiedSamplesGiveZeroZ() {
+        Assert.assertEquals(PerfGate.mannWhitneyZ(repeat(500, 6), repeat(500, 8)), 0.0, 1e-9);
+    }
+
+    @Test
+    public void separatedSamplesExceedCriticalZ() {
+        double z = PerfGate.mannWhitneyZ(range(2000, 10), range(1000, 10));
+        Assert.assertTrue(z > PerfGate.Z_CRITICAL, "z=" + z);
+        Assert.assertTrue(PerfGate.mannWhitneyZ(range(1000, 10), range(2000, 10)) < -PerfGate.Z_CRITICAL, "faster is negative");
+    }
+
+    @Test
+    public void tiesCorrectTheVariance() {
+        // Two tied groups, fully separated: U=25, mean 12.5, tie-corrected variance 17.36 -> z=3.0
+        Assert.assertEquals(PerfGate.mannWhitneyZ(repeat(200, 5), repeat(100, 5)), 3.0, 1e-6);
+    }
+
+    @Test
+    public void singleSampleUsesP90PlusTolerance() {
+        PerfGate.Baseline baseline = baseline(repeat(1000, 3), List.of());
+        // limit = max(1000 * 1.25, 1000 + 250) = 1250
+        Assert.assertEquals(PerfGate.compare(baseline, latencies(1200), Map.of()), List.of());
+
+        List<String> regressions = PerfGate.compare(baseline, latencies(1300), Map.of());
+        Assert.assertEquals(regressions.size(), 1, regressions.toString());
+        Assert.assertTrue(regressions.get(0).contains("limit 1250 ms"), regressions.get(0));
+    }
+
+    @Test
+    public void fastStepsNeedTheMinimumDelta() {
+        PerfGate.Baseline baseline = baseline(repeat(100, 3), List.of());
+        // 25% of 100 ms is noise; limit = 100 + 250
+        Assert.assertEquals(PerfGate.compare(baseline, latencies(340), Map.of()), List.of());
+        Assert.assertEquals(PerfGate.compare(baseline, latencies(400), Map.of()).size(), 1);
+    }
+
+    @Test
+    public void manySamplesUseMannWhitney() {
+        PerfGate.Baseline baseline = baseline(range(1000, 10), List.of());
+
+        List<String> regressions = PerfGate.compare(baseline, Map.of(STEP, range(2000, 10)), Map.of());
+        Assert.assertEquals(regressions.size(), 1, regressions.toString());
+        Assert.assertTrue(regressions.get(0).contains("Mann-Whitney"), regressions.get(0));
+
+        // Significant, but only ~100 ms slower: below perf.minDeltaMs
+        Assert.assertEquals(PerfGate.compare(baseline, Map.of(STEP, range(1100, 10)), Map.of()), List.of());
+    }
+
+    @Test
+    public void commandGrowthBeyondToleranceIsFlagged() {
+        PerfGate.Baseline baseline = baseline(repeat(1000, 3), repeat(10, 3));
+
+        List<String> regressions = PerfGate.compare(baseline, latencies(1000), Map.of(STEP, List.of(12L)));
+        Assert.assertEquals(regressions.size(), 1, regressions.toString());
+        Assert.assertTrue(regressions.get(0).contains("commands: 12 vs baseline max 10"), regressions.get(0));
+
+        Assert.assertEquals(PerfGate.compare(baseline, latencies(1000), Map.of(STEP, List.of(11L))), List.of());
+    }
+
+    @Test
+    public void stepsWithoutBaselineAreSkipped() {
+        PerfGate.Baseline baseline = baseline(repeat(100, 3), repeat(1, 3));
+        Map<String, List<Long>> current = Map.of("newStep", List.of(99_999L));
+        Assert.assertEquals(PerfGate.compare(baseline, current, Map.of("newStep", List.of(999L))), List.of());
+    }
+
+    @Test
+    public void percentileIsNearestRank() {
+        List<Long> values = range(1, 10);
+        Assert.assertEquals(PerfGate.percentile(values, 50), 5.0);
+        Assert.assertEquals(PerfGate.percentile(values, 90), 9.0);
+        Assert.assertEquals(PerfGate.percentile(values, 100), 10.0);
+        Assert.assertEquals(PerfGate.percentile(Collections.emptyList(), 50), 0.0);
+    }
+
+    // ---------- Helpers ----------
+
+    private static PerfGate.Baseline baseline(List<Long> latencyMs, List<Long> commands) {
+        PerfGate.StepBaseline sb = new PerfGate.StepBaseline();
+        sb.latencyMs = new ArrayList<>(latencyMs);
+        sb.commands = new ArrayList<>(commands);
+        PerfGate.Baseline b = new PerfGate.Baseline();
+        b.steps.put(STEP, sb);
+        return b;
+    }
+
+    private static Map<String, List<Long>> latencies(long ms) {
+        return Map.of(STEP, List.of(ms));
+    }
+
+    private static List<Long> range(long from, int n) {
+        return LongStream.range(from, from + n).boxed().collect(Collectors.toList());
+    }
+
+    private static List<Long> repeat(long value, int n) {
+        return Collections.nCopies(n, value);
+    }
+}
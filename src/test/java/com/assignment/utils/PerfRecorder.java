@@ -0,0 +1,119 @@
+package com.assignment.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Collects per-step latency and WebDriver command counts for the current JVM run.
+ * Read by {@link PerfGate} (baseline comparison) and {@link TestReportListener} (report).
+ */
+public final class PerfRecorder {
+
+    // Calls that only hand out a sub-interface and never reach the browser
+    private static final Set<String> NON_COMMANDS = new HashSet<>(Arrays.asList(
+            "switchTo", "manage", "navigate", "window", "timeouts", "getWrappedDriver", "getWrappedElement",
+            "toString", "hashCode", "equals"));
+
+    private static final AtomicLong commandCount = new AtomicLong();
+    private static final AtomicBoolean firstGetSeen = new AtomicBoolean();
+    private static final Map<String, List<Long>> latencies = new LinkedHashMap<>();
+    private static final Map<String, List<Long>> commands = new LinkedHashMap<>();
+
+    private PerfRecorder() {}
+
+    /** Wrap a driver so every browser-bound call is counted. */
+    public static WebDriver instrument(WebDriver driver) {
+        WebDriverListener counter = new WebDriverListener() {
+            @Override
+            public void beforeAnyCall(Object target, Method method, Object[] args) {
+                if (!NON_COMMANDS.contains(method.getName())) commandCount.incrementAndGet();
+            }
+
+            @Override
+            public void beforeGet(WebDriver driver, String url) {
+                markFirstGet();
+            }
+        };
+        return new EventFiringDecorator<>(counter).decorate(driver);
+    }
+
+    /** Records coldStart.jvmToFirstGet (JVM start -> first driver.get) once per JVM. */
+    public static void markFirstGet() {
+        if (firstGetSeen.compareAndSet(false, true)) {
+            long jvmStart = ManagementFactory.getRuntimeMXBean().getStartTime();
+            record("coldStart.jvmToFirstGet", System.currentTimeMillis() - jvmStart, 0);
+        }
+    }
+
+    public static void time(String step, Runnable action) {
+        time(step, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /** Run the action and record its wall time and command count under the given step name. */
+    public static <T> T time(String step, Supplier<T> action) {
+        long startCmds = commandCount.get();
+        long start = System.nanoTime();
+        T result = action.get();
+        record(step, (System.nanoTime() - start) / 1_000_000, commandCount.get() - startCmds);
+        return result;
+    }
+
+    public static synchronized void record(String step, long millis, long cmds) {
+        latencies.computeIfAbsent(step, k -> new ArrayList<>()).add(millis);
+        commands.computeIfAbsent(step, k -> new ArrayList<>()).add(cmds);
+    }
+
+    public static synchronized Map<String, List<Long>> latencies() {
+        return copy(latencies);
+    }
+
+    public static synchronized Map<String, List<Long>> commands() {
+        return copy(commands);
+    }
+
+    /** Drop every step whose name starts with {@code prefix} (unit tests clean up what they recorded). */
+    static synchronized void discard(String prefix) {
+        latencies.keySet().removeIf(k -> k.startsWith(prefix));
+        commands.keySet().removeIf(k -> k.startsWith(prefix));
+    }
+
+    public static synchronized boolean isEmpty() {
+        return latencies.isEmpty();
+    }
+
+    /** One line per step: "openPage: 1234 ms, 17 cmds" (last sample). */
+    public static synchronized List<String> summaryLines() {
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<String, List<Long>> e : latencies.entrySet()) {
+            List<Long> ms = e.getValue();
+            List<Long> cmds = commands.getOrDefault(e.getKey(), Collections.emptyList());
+            lines.add(e.getKey() + ": " + ms.get(ms.size() - 1) + " ms"
+                    + (cmds.isEmpty() ? "" : ", " + cmds.get(cmds.size() - 1) + " cmds"));
+        }
+        return lines;
+    }
+
+    private static Map<String, List<Long>> copy(Map<String, List<Long>> src) {
+        Map<String, List<Long>> out = new LinkedHashMap<>();
+        src.forEach((k, v) -> out.put(k, new ArrayList<>(v)));
+        return out;
+    }
+}
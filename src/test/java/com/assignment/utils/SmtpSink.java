@@ -0,0 +1,275 @@
+package com.assignment.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Minimal embedded SMTP server that swallows the welcome e-mails of a local backend and measures
+ * submit-to-delivery latency. Mail is matched to the expected address by RCPT TO (or, failing that,
+ * the To header), so parallel or stray messages don't skew the numbers.
+ *
+ * <p>Every delivery is appended to the history file; {@link #percentileLines()} summarizes the last 100 for
+ * the report.
+ *
+ * <p>System properties:
+ * <ul>
+ *   <li>{@code smtp.sink.port} – port to listen on (unset = off); point the backend's SMTP relay here</li>
+ *   <li>{@code smtp.sink.host} – address to bind (default 127.0.0.1; e.g. 0.0.0.0 when the backend runs in a container)</li>
+ *   <li>{@code smtp.sink.timeout} – seconds to wait for the e-mail (default 60)</li>
+ *   <li>{@code smtp.sink.history} – latency history file (default reports/email-latency-history.jsonl)</li>
+ * </ul>
+ */
+public final class SmtpSink {
+
+    private static final Logger log = LogManager.getLogger(SmtpSink.class);
+
+    private static final int HISTORY_RUNS = 100;
+    private static final Pattern ADDRESS = Pattern.compile("<?([^<>\\s,;]+@[^<>\\s,;]+)>?");
+
+    private final ServerSocket server;
+    private final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "smtp-sink");
+        t.setDaemon(true);
+        return t;
+    });
+    // address -> nanoTime of submit / of delivery
+    private final Map<String, Long> expected = new ConcurrentHashMap<>();
+    private final Map<String, Long> delivered = new ConcurrentHashMap<>();
+
+    private SmtpSink(ServerSocket server) {
+        this.server = server;
+        executor.submit(this::acceptLoop);
+    }
+
+    /** Starts the sink when -Dsmtp.sink.port is set, otherwise returns null. */
+    public static SmtpSink start() {
+        String port = System.getProperty("smtp.sink.port", "").trim();
+        if (port.isEmpty()) return null;
+        try {
+            // Loopback only by default: this is an unauthenticated listener
+            String host = System.getProperty("smtp.sink.host", "127.0.0.1").trim();
+            ServerSocket server = new ServerSocket(Integer.parseInt(port), 50, InetAddress.getByName(host));
+            log.info("SMTP sink listening on {}:{}", host, server.getLocalPort());
+            return new SmtpSink(server);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start SMTP sink on port " + port + ": " + e.getMessage(), e);
+        }
+    }
+
+    public int port() {
+        return server.getLocalPort();
+    }
+
+    /** Call right before submitting the form that should trigger a mail to {@code address}. */
+    public void expect(String address) {
+        String key = address.toLowerCase(Locale.ROOT);
+        delivered.remove(key);
+        expected.put(key, System.nanoTime());
+    }
+
+    /**
+     * Waits for the mail to {@code address}; returns submit-to-delivery latency in ms (recorded as
+     * PerfRecorder step "welcomeEmail" and in the history file) or -1 on timeout.
+     */
+    public long awaitDelivery(String address) {
+        String key = address.toLowerCase(Locale.ROOT);
+        Long submitted = expected.get(key);
+        if (submitted == null) throw new IllegalStateException("expect() was not called for " + address);
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(Long.getLong("smtp.sink.timeout", 60)).toNanos();
+        synchronized (delivered) {
+            while (!delivered.containsKey(key) && System.nanoTime() < deadline) {
+                try {
+                    delivered.wait(Math.max(1, (deadline - System.nanoTime()) / 1_000_000));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        Long at = delivered.get(key);
+        expected.remove(key);
+        if (at == null) {
+            log.warn("[MAIL] No e-mail for {} within timeout", address);
+            return -1;
+        }
+        long ms = Math.max(0, (at - submitted) / 1_000_000);
+        PerfRecorder.record("welcomeEmail", ms, 0);
+        appendHistory(ms);
+        log.info("[MAIL] Welcome e-mail for {} delivered after {} ms", address, ms);
+        return ms;
+    }
+
+    public void stop() {
+        try {
+            server.close();
+        } catch (IOException ignored) {}
+        executor.shutdownNow();
+    }
+
+    /** "welcomeEmail p50 .. / p90 .. / p95 .. / max .. ms over last N deliveries" from the history file. */
+    public static List<String> percentileLines() {
+        List<Long> latencies = readHistory();
+        List<String> lines = new ArrayList<>();
+        if (latencies.isEmpty()) return lines;
+        lines.add(String.format("welcomeEmail p50 %.0f / p90 %.0f / p95 %.0f / max %.0f ms over last %d deliveries",
+                PerfGate.percentile(latencies, 50), PerfGate.percentile(latencies, 90),
+                PerfGate.percentile(latencies, 95), PerfGate.percentile(latencies, 100), latencies.size()));
+        return lines;
+    }
+
+    // ---------- Internals ----------
+
+    private void acceptLoop() {
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                executor.submit(() -> handle(socket));
+            } catch (SocketException e) {
+                return; // closed by stop()
+            } catch (IOException e) {
+                log.debug("SMTP accept failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    /** Just enough of RFC 5321 for a backend mailer: no auth, no TLS, no relaying. */
+    private void handle(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            reply(out, "220 signup-smtp-sink ESMTP");
+            List<String> recipients = new ArrayList<>();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String cmd = line.length() >= 4 ? line.substring(0, 4).toUpperCase(Locale.ROOT) : line.toUpperCase(Locale.ROOT);
+                switch (cmd) {
+                    case "EHLO":
+                        reply(out, "250-signup-smtp-sink");
+                        reply(out, "250 8BITMIME");
+                        break;
+                    case "HELO":
+                    case "NOOP":
+                        reply(out, "250 OK");
+                        break;
+                    case "MAIL":
+                    case "RSET":
+                        recipients.clear();
+                        reply(out, "250 OK");
+                        break;
+                    case "RCPT":
+                        String to = address(line.substring(line.indexOf(':') + 1));
+                        if (to != null) recipients.add(to);
+                        reply(out, "250 OK");
+                        break;
+                    case "DATA":
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        readMessage(in, recipients);
+                        recipients.clear();
+                        reply(out, "250 OK queued");
+                        break;
+                    case "QUIT":
+                        reply(out, "221 Bye");
+                        return;
+                    default:
+                        reply(out, "502 Command not implemented");
+                        break;
+                }
+            }
+        } catch (IOException e) {
+            log.debug("SMTP session ended: {}", e.getMessage());
+        }
+    }
+
+    private void readMessage(BufferedReader in, List<String> recipients) throws IOException {
+        List<String> headerTo = new ArrayList<>();
+        String subject = "";
+        boolean headers = true;
+        String line;
+        while ((line = in.readLine()) != null && !".".equals(line)) {
+            if (headers && line.isEmpty()) headers = false;
+            if (!headers) continue;
+            String lower = line.toLowerCase(Locale.ROOT);
+            if (lower.startsWith("to:")) {
+                Matcher m = ADDRESS.matcher(line.substring(3));
+                while (m.find()) headerTo.add(m.group(1));
+            } else if (lower.startsWith("subject:")) {
+                subject = line.substring(8).trim();
+            }
+        }
+        long now = System.nanoTime();
+
+        List<String> targets = recipients.isEmpty() ? headerTo : recipients;
+        for (String to : targets) {
+            String key = to.toLowerCase(Locale.ROOT);
+            if (!expected.containsKey(key)) {
+                log.debug("[MAIL] Ignoring e-mail for {} ({})", to, subject);
+                continue;
+            }
+            log.debug("[MAIL] Received '{}' for {}", subject, to);
+            synchronized (delivered) {
+                delivered.putIfAbsent(key, now);
+                delivered.notifyAll();
+            }
+        }
+    }
+
+    private static String address(String arg) {
+        Matcher m = ADDRESS.matcher(arg.trim());
+        return m.find() ? m.group(1) : null;
+    }
+
+    private static void reply(PrintWriter out, String line) {
+        out.print(line + "\r\n");
+        out.flush();
+    }
+
+    private static Path historyFile() {
+        return Paths.get(System.getProperty("smtp.sink.history", "reports/email-latency-history.jsonl"));
+    }
+
+    private static void appendHistory(long ms) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("timestamp", LocalDateTime.now().toString());
+        line.put("welcomeEmailMs", ms);
+        try {
+            JsonLines.append(historyFile(), line);
+        } catch (IOException e) {
+            log.warn("Could not store e-mail latency: {}", e.getMessage());
+        }
+    }
+
+    private static List<Long> readHistory() {
+        List<Long> latencies = new ArrayList<>();
+        for (Map<String, Object> run : JsonLines.tail(historyFile(), HISTORY_RUNS)) {
+            Object v = run.get("welcomeEmailMs");
+            if (v instanceof Number) latencies.add(((Number) v).longValue());
+        }
+        return latencies;
+    }
+}
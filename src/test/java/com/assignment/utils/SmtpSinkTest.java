@@ -0,0 +1,174 @@
+package com.assignment.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SmtpSinkTest {
+
+    private static final String[] PROPS = {"smtp.sink.port", "smtp.sink.host", "smtp.sink.timeout", "smtp.sink.history"};
+
+    private final Map<String, String> saved = new HashMap<>();
+    private Path history;
+    private SmtpSink sink;
+
+    @BeforeMethod
+    public void startSink() throws IOException {
+        for (String p : PROPS) {
+            String v = System.clearProperty(p);
+            if (v != null) saved.put(p, v);
+        }
+        history = Files.createTempFile("email-latency", ".jsonl");
+        Files.delete(history);
+        System.setProperty("smtp.sink.port", "0");
+        System.setProperty("smtp.sink.timeout", "5");
+        System.setProperty("smtp.sink.history", history.toString());
+        sink = SmtpSink.start();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void stopSink() throws IOException {
+        if (sink != null) sink.stop();
+        for (String p : PROPS) System.clearProperty(p);
+        saved.forEach(System::setProperty);
+        saved.clear();
+        Files.deleteIfExists(history);
+        PerfRecorder.discard("welcomeEmail");
+    }
+
+    @Test
+    public void startsOnlyWhenPortIsSet() {
+        System.clearProperty("smtp.sink.port");
+        Assert.assertNull(SmtpSink.start());
+        Assert.assertTrue(sink.port() > 0, "port 0 binds an ephemeral port");
+    }
+
+    @Test
+    public void speaksEnoughSmtp() throws IOException {
+        try (Client smtp = new Client(sink.port())) {
+            Assert.assertTrue(smtp.greeting().startsWith("220 "), smtp.greeting());
+            Assert.assertEquals(smtp.send("EHLO backend"), List.of("250-signup-smtp-sink", "250 8BITMIME"));
+            Assert.assertEquals(smtp.code("HELO backend"), 250);
+            Assert.assertEquals(smtp.code("MAIL FROM:<noreply@jabatalks.com>"), 250);
+            Assert.assertEquals(smtp.code("RCPT TO:<someone@test.com>"), 250);
+            Assert.assertEquals(smtp.code("DATA"), 354);
+            Assert.assertEquals(smtp.code("Subject: hi\r\n\r\nbody\r\n."), 250);
+            Assert.assertEquals(smtp.code("NOOP"), 250);
+            Assert.assertEquals(smtp.code("RSET"), 250);
+            Assert.assertEquals(smtp.code("STARTTLS"), 502);
+            Assert.assertEquals(smtp.code("QUIT"), 221);
+        }
+    }
+
+    @Test
+    public void deliveryIsMatchedByRcptToIgnoringCase() throws IOException {
+        sink.expect("New.User@Test.com");
+        send(List.of("new.user@test.com"), "To: someone-else@test.com");
+
+        long ms = sink.awaitDelivery("New.User@Test.com");
+        Assert.assertTrue(ms >= 0, "delivered");
+        Assert.assertEquals(PerfRecorder.latencies().get("welcomeEmail"), List.of(ms));
+        Assert.assertEquals(JsonLines.tail(history, 10).size(), 1, "history appended");
+        Assert.assertTrue(SmtpSink.percentileLines().get(0).endsWith("over last 1 deliveries"), SmtpSink.percentileLines().toString());
+    }
+
+    @Test
+    public void toHeaderIsUsedWithoutRcpt() throws IOException {
+        sink.expect("user@test.com");
+        send(List.of(), "To: \"New User\" <User@test.com>, other@test.com");
+        Assert.assertTrue(sink.awaitDelivery("user@test.com") >= 0);
+    }
+
+    @Test
+    public void strayMailIsIgnoredAndWaitTimesOut() throws IOException {
+        System.setProperty("smtp.sink.timeout", "1");
+        sink.expect("user@test.com");
+        // RCPT wins over the To header, so this is mail for someone else
+        send(List.of("stray@test.com"), "To: user@test.com");
+
+        long start = System.nanoTime();
+        Assert.assertEquals(sink.awaitDelivery("user@test.com"), -1);
+        long waitedMs = (System.nanoTime() - start) / 1_000_000;
+        Assert.assertTrue(waitedMs >= 900 && waitedMs < 5000, "waited " + waitedMs + " ms");
+        Assert.assertNull(PerfRecorder.latencies().get("welcomeEmail"));
+        Assert.assertFalse(Files.exists(history), "nothing recorded on timeout");
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void awaitWithoutExpectFails() {
+        sink.awaitDelivery("nobody@test.com");
+    }
+
+    // ---------- Helpers ----------
+
+    private void send(List<String> rcpt, String toHeader) throws IOException {
+        try (Client smtp = new Client(sink.port())) {
+            smtp.code("EHLO backend");
+            smtp.code("MAIL FROM:<noreply@jabatalks.com>");
+            for (String r : rcpt) smtp.code("RCPT TO:<" + r + ">");
+            smtp.code("DATA");
+            Assert.assertEquals(smtp.code(toHeader + "\r\nSubject: Welcome\r\n\r\nHello\r\n."), 250);
+            smtp.code("QUIT");
+        }
+    }
+
+    /** Line-based SMTP client: one command, then all reply lines up to the one without a '-' continuation. */
+    private static final class Client implements Closeable {
+        private final Socket socket;
+        private final BufferedReader in;
+        private final Writer out;
+        private final String greeting;
+
+        Client(int port) throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            socket.setSoTimeout(5000);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+            greeting = in.readLine();
+        }
+
+        String greeting() {
+            return greeting;
+        }
+
+        List<String> send(String command) throws IOException {
+            out.write(command + "\r\n");
+            out.flush();
+            List<String> lines = new ArrayList<>();
+            String line;
+            do {
+                line = in.readLine();
+                if (line == null) throw new IOException("connection closed after " + command);
+                lines.add(line);
+            } while (line.length() > 3 && line.charAt(3) == '-');
+            return lines;
+        }
+
+        int code(String command) throws IOException {
+            List<String> lines = send(command);
+            return Integer.parseInt(lines.get(lines.size() - 1).substring(0, 3));
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}
@@ -2,6 +2,7 @@
 package com.assignment.utils;
 
 import com.aventstack.extentreports.*;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import org.openqa.selenium.*;
 import org.testng.*;
@@ -38,11 +39,13 @@ public class TestReportListener implements ITestListener {
     @Override
     public void onTestSuccess(ITestResult result) {
         test.get().pass("Test passed");
+        logTimings();
     }
 
     @Override
     public void onTestFailure(ITestResult result) {
         test.get().fail(result.getThrowable());
+        logTimings();
         try {
             WebDriver driver = (WebDriver) result.getTestClass()
                     .getRealClass()
@@ -65,8 +68,25 @@ public class TestReportListener implements ITestListener {
         test.get().skip("Test skipped");
     }
 
+    /**
+     * Step timings / command counts (PerfRecorder), browser-side page metrics with trend (WebPerfMonitor)
+     * and welcome e-mail delivery percentiles (SmtpSink).
+     */
+    private void logTimings() {
+        if (!PerfRecorder.isEmpty()) {
+            test.get().info(MarkupHelper.createUnorderedList(PerfRecorder.summaryLines()));
+        }
+        if (!WebPerfMonitor.metrics().isEmpty()) {
+            test.get().info(MarkupHelper.createUnorderedList(WebPerfMonitor.trendLines()));
+        }
+        if (PerfRecorder.latencies().containsKey("welcomeEmail")) {
+            test.get().info(MarkupHelper.createUnorderedList(SmtpSink.percentileLines()));
+        }
+    }
+
     @Override
     public void onFinish(ITestContext context) {
+        WebPerfMonitor.saveRun();
         extent.flush();
     }
 }
\ No newline at end of file
@@ -0,0 +1,206 @@
+package com.assignment.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * One clock for every wait in a page object. Each public call runs {@link #within} a {@link Budget}; nested budgets
+ * and every poll/pause inside are capped by what is left of the outermost one. Once the budget is spent, polls
+ * return without probing and callers' candidate loops stop on {@link #expired()}, so a call overruns its budget
+ * by at most the WebDriver command that was in flight.
+ *
+ * <p>System properties: {@code wait.budget.<name>} (ms, per public call), {@code wait.backoff.initialMs} (50),
+ * {@code wait.backoff.multiplier} (1.5), {@code wait.backoff.maxMs} (500), {@code wait.backoff.jitter} (0.2).
+ */
+public class WaitEngine {
+
+    private static final Logger log = LogManager.getLogger(WaitEngine.class);
+
+    private final long initialMs = Long.getLong("wait.backoff.initialMs", 50L);
+    private final double multiplier = Double.parseDouble(System.getProperty("wait.backoff.multiplier", "1.5"));
+    private final long maxMs = Long.getLong("wait.backoff.maxMs", 500L);
+    private final double jitter = Double.parseDouble(System.getProperty("wait.backoff.jitter", "0.2"));
+
+    private final Deque<Budget> active = new ArrayDeque<>();
+    private volatile boolean cancelled;
+
+    /** Time box for one public call; close it when the call returns ({@link #within} does this). */
+    public final class Budget implements AutoCloseable {
+        private final String name;
+        private final long budgetMs;
+        private final long startNanos = System.nanoTime();
+        private final long deadlineNanos;
+        private long waitedNanos;
+
+        private Budget(String name, long budgetMs, long deadlineNanos) {
+            this.name = name;
+            this.budgetMs = budgetMs;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        public long remainingMillis() {
+            return Math.max(0, (deadlineNanos - System.nanoTime()) / 1_000_000);
+        }
+
+        @Override
+        public void close() {
+            boolean outermost;
+            synchronized (WaitEngine.this) {
+                active.remove(this);
+                Budget parent = active.peek();
+                if (parent != null) parent.waitedNanos += waitedNanos;
+                outermost = parent == null;
+            }
+            long usedMs = (System.nanoTime() - startNanos) / 1_000_000;
+            long waitedMs = waitedNanos / 1_000_000;
+            log.info("[WAIT] {}: waited {} ms, used {} of {} ms budget", name, waitedMs, usedMs, budgetMs);
+            if (outermost) PerfRecorder.record("wait." + name, waitedMs, 0);
+        }
+    }
+
+    /**
+     * Open a budget. Nested budgets never outlive their parent; the budget comes from
+     * -Dwait.budget.&lt;name&gt; when set, otherwise the given default.
+     */
+    public synchronized Budget begin(String name, Duration defaultBudget) {
+        long budgetMs = Long.getLong("wait.budget." + name, defaultBudget.toMillis());
+        long deadline = System.nanoTime() + budgetMs * 1_000_000;
+        Budget parent = active.peek();
+        if (parent != null) deadline = Math.min(deadline, parent.deadlineNanos);
+        Budget b = new Budget(name, budgetMs, deadline);
+        active.push(b);
+        return b;
+    }
+
+    /** Run {@code action} inside a budget opened by {@link #begin} and closed when it returns. */
+    public <T> T within(String name, Duration defaultBudget, Supplier<T> action) {
+        Budget budget = begin(name, defaultBudget);
+        try {
+            return action.get();
+        } finally {
+            budget.close();
+        }
+    }
+
+    /** {@link #within(String, Duration, Supplier)} for calls without a result. */
+    public void within(String name, Duration defaultBudget, Runnable action) {
+        Budget budget = begin(name, defaultBudget);
+        try {
+            action.run();
+        } finally {
+            budget.close();
+        }
+    }
+
+    /**
+     * Abort running and later waits: polls return immediately as timed out and pauses return false until
+     * {@link #resume()}. An interrupt during a wait cancels the same way.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /** Clear a {@link #cancel()} (or interrupt) so waits run normally again. */
+    public void resume() {
+        cancelled = false;
+    }
+
+    /** True when the innermost budget is spent or waits were cancelled: stop trying further candidates. */
+    public boolean expired() {
+        return cancelled || remainingMillis() == 0;
+    }
+
+    /** Remaining time of the innermost budget (unbounded when none is open). */
+    public synchronized long remainingMillis() {
+        Budget b = active.peek();
+        return b == null ? Long.MAX_VALUE : b.remainingMillis();
+    }
+
+    /**
+     * Probe with backoff until it returns non-null (and not FALSE), for at most {@code max} and never past
+     * the budget. The probe runs at least once unless the budget is already spent. Returns null on timeout
+     * or cancellation.
+     */
+    public <T> T poll(Duration max, Supplier<T> probe) {
+        if (expired()) return null;
+        long limitMs = Math.min(max.toMillis(), remainingMillis());
+        long start = System.nanoTime();
+        long end = start + limitMs * 1_000_000;
+        long delay = initialMs;
+        try {
+            while (true) {
+                T value = probe.get();
+                if (value != null && !Boolean.FALSE.equals(value)) return value;
+                long left = (end - System.nanoTime()) / 1_000_000;
+                if (left <= 0 || cancelled) return null;
+                if (!sleep(Math.min(left, withJitter(delay)))) return null;
+                delay = Math.min(maxMs, (long) (delay * multiplier));
+            }
+        } finally {
+            addWaited(System.nanoTime() - start);
+        }
+    }
+
+    /** WebDriverWait replacement: condition until truthy, capped by {@code max} and the budget. */
+    public <T> T until(WebDriver driver, Duration max, Function<? super WebDriver, T> condition) {
+        long limitMs = Math.min(max.toMillis(), remainingMillis());
+        T value = poll(max, () -> {
+            try {
+                return condition.apply(driver);
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                return null;
+            }
+        });
+        if (value == null) {
+            throw new TimeoutException("Condition not met within " + limitMs + " ms: " + condition);
+        }
+        return value;
+    }
+
+    /** Sleep within the budget; false when the budget is spent or the wait was cancelled. */
+    public boolean pause(long millis) {
+        long ms = Math.min(millis, remainingMillis());
+        if (ms <= 0 || cancelled) return false;
+        long start = System.nanoTime();
+        try {
+            return sleep(ms);
+        } finally {
+            addWaited(System.nanoTime() - start);
+        }
+    }
+
+    // ---------- Internals ----------
+
+    private long withJitter(long delay) {
+        if (jitter <= 0) return delay;
+        double f = 1 + ThreadLocalRandom.current().nextDouble(-jitter, jitter);
+        return Math.max(1, Math.round(delay * f));
+    }
+
+    private boolean sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+            return !cancelled;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelled = true;
+            return false;
+        }
+    }
+
+    private synchronized void addWaited(long nanos) {
+        Budget b = active.peek();
+        if (b != null) b.waitedNanos += nanos;
+    }
+}
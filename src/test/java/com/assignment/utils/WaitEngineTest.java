@@ -0,0 +1,142 @@
+package com.assignment.utils;
+
+import org.openqa.selenium.TimeoutException;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class WaitEngineTest {
+
+    private static final String[] BACKOFF_PROPS = {
+            "wait.backoff.initialMs", "wait.backoff.multiplier", "wait.backoff.maxMs", "wait.backoff.jitter"};
+
+    @AfterMethod(alwaysRun = true)
+    public void cleanUp() {
+        for (String p : BACKOFF_PROPS) System.clearProperty(p);
+        Thread.interrupted();
+        PerfRecorder.discard("wait.unit.");
+    }
+
+    @Test
+    public void nestedBudgetIsCappedByParent() {
+        WaitEngine waits = new WaitEngine();
+        try (WaitEngine.Budget outer = waits.begin("unit.outer", Duration.ofMillis(200));
+             WaitEngine.Budget inner = waits.begin("unit.inner", Duration.ofSeconds(10))) {
+            Assert.assertTrue(inner.remainingMillis() <= 200, "inner remaining " + inner.remainingMillis());
+            Assert.assertTrue(waits.remainingMillis() <= outer.remainingMillis());
+        }
+        Assert.assertEquals(waits.remainingMillis(), Long.MAX_VALUE, "no budget open after close");
+    }
+
+    @Test
+    public void waitedTimeRollsUpToOutermostBudget() {
+        WaitEngine waits = new WaitEngine();
+        waits.within("unit.rollup", Duration.ofSeconds(5), () -> {
+            waits.within("unit.rollupInner", Duration.ofSeconds(5), () -> {
+                Assert.assertTrue(waits.pause(30));
+            });
+            Assert.assertTrue(waits.pause(20));
+        });
+
+        List<Long> outer = PerfRecorder.latencies().get("wait.unit.rollup");
+        Assert.assertNotNull(outer, "outermost budget recorded");
+        Assert.assertEquals(outer.size(), 1);
+        Assert.assertTrue(outer.get(0) >= 50, "inner and outer waits summed, got " + outer.get(0));
+        Assert.assertFalse(PerfRecorder.latencies().containsKey("wait.unit.rollupInner"), "inner budget not recorded");
+    }
+
+    @Test
+    public void pollStopsAtBudgetAndSkipsProbeOnceSpent() {
+        WaitEngine waits = new WaitEngine();
+        AtomicInteger probes = new AtomicInteger();
+        waits.within("unit.poll", Duration.ofMillis(100), () -> {
+            long start = System.nanoTime();
+            Assert.assertNull(waits.poll(Duration.ofSeconds(10), () -> {
+                probes.incrementAndGet();
+                return null;
+            }));
+            Assert.assertTrue((System.nanoTime() - start) / 1_000_000 < 1000, "poll stopped at the 100 ms budget");
+            Assert.assertTrue(waits.expired());
+
+            int before = probes.get();
+            Assert.assertNull(waits.poll(Duration.ofSeconds(10), () -> {
+                probes.incrementAndGet();
+                return "late";
+            }));
+            Assert.assertEquals(probes.get(), before, "no probe after the budget is spent");
+            Assert.assertFalse(waits.pause(10));
+        });
+        Assert.assertTrue(probes.get() >= 1, "probe ran at least once");
+    }
+
+    @Test
+    public void pollReturnsFirstTruthyValue() {
+        WaitEngine waits = new WaitEngine();
+        AtomicInteger probes = new AtomicInteger();
+        Boolean value = waits.poll(Duration.ofSeconds(5), () -> probes.incrementAndGet() >= 3);
+        Assert.assertEquals(value, Boolean.TRUE);
+        Assert.assertEquals(probes.get(), 3);
+    }
+
+    @Test(expectedExceptions = TimeoutException.class)
+    public void untilThrowsOnTimeout() {
+        new WaitEngine().until(null, Duration.ofMillis(50), d -> null);
+    }
+
+    @Test
+    public void cancelPersistsUntilResume() {
+        WaitEngine waits = new WaitEngine();
+        waits.cancel();
+        waits.within("unit.cancel", Duration.ofSeconds(5), () -> {
+            Assert.assertTrue(waits.expired(), "a new budget does not clear cancellation");
+            Assert.assertNull(waits.poll(Duration.ofSeconds(1), () -> "never"));
+            Assert.assertFalse(waits.pause(10));
+        });
+
+        waits.resume();
+        Assert.assertFalse(waits.expired());
+        Assert.assertTrue(waits.pause(1));
+    }
+
+    @Test
+    public void interruptDuringPauseCancels() {
+        WaitEngine waits = new WaitEngine();
+        Thread.currentThread().interrupt();
+        long start = System.nanoTime();
+        Assert.assertFalse(waits.pause(5_000));
+        Assert.assertTrue((System.nanoTime() - start) / 1_000_000 < 1000, "pause returned on interrupt");
+        Assert.assertTrue(Thread.interrupted(), "interrupt flag restored");
+        Assert.assertTrue(waits.expired(), "interrupt cancels later waits");
+
+        waits.resume();
+        Assert.assertFalse(waits.expired());
+    }
+
+    @Test
+    public void backoffGrowsByMultiplierAndStopsAtMax() {
+        System.setProperty("wait.backoff.initialMs", "10");
+        System.setProperty("wait.backoff.multiplier", "2");
+        System.setProperty("wait.backoff.maxMs", "40");
+        System.setProperty("wait.backoff.jitter", "0");
+        WaitEngine waits = new WaitEngine();
+
+        List<Long> probeTimes = new ArrayList<>();
+        waits.poll(Duration.ofSeconds(5), () -> {
+            probeTimes.add(System.nanoTime());
+            return probeTimes.size() == 6 ? "done" : null;
+        });
+
+        long[] expected = {10, 20, 40, 40, 40};
+        Assert.assertEquals(probeTimes.size(), 6);
+        for (int i = 0; i < expected.length; i++) {
+            long gapMs = (probeTimes.get(i + 1) - probeTimes.get(i)) / 1_000_000;
+            Assert.assertTrue(gapMs >= expected[i], "gap " + i + " was " + gapMs + " ms, expected >= " + expected[i]);
+            Assert.assertTrue(gapMs < expected[i] + 200, "gap " + i + " was " + gapMs + " ms, expected about " + expected[i]);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.assignment.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.assignment.utils.JsonLines.number;
+
+/**
+ * Synthetic monitoring of the sign-up page: collects the browser's own Navigation Timing, Resource Timing,
+ * paint / LCP / CLS entries on every openPage, and the timing of the sign-up XHR after clickSignUp.
+ *
+ * <p>Each run is written to reports/web-perf/run-*.json (raw entries) and appended as one summary line to
+ * reports/web-perf-history.jsonl, which {@link TestReportListener} uses to show the trend.
+ * Disable with -Dwebperf=false.
+ */
+public final class WebPerfMonitor {
+
+    private static final Logger log = LogManager.getLogger(WebPerfMonitor.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private static final Path HISTORY = Paths.get("reports", "web-perf-history.jsonl");
+    private static final Path RUN_DIR = Paths.get("reports", "web-perf");
+    private static final int TREND_RUNS = 10;
+    // Raw captures kept per run; soak runs call openPage thousands of times
+    private static final int MAX_PAGE_LOADS = 50;
+
+    // Buffered observers replay LCP / layout-shift entries that happened before we attached.
+    private static final String CAPTURE_JS =
+            "var done = arguments[arguments.length - 1], out = {paint: {}, lcp: null, cls: 0, resources: []};" +
+            "try {" +
+            "  var nav = performance.getEntriesByType('navigation')[0];" +
+            "  out.navigation = nav ? nav.toJSON() : (performance.timing ? performance.timing.toJSON() : null);" +
+            "  out.resources = performance.getEntriesByType('resource').slice(0, 200).map(function (r) {" +
+            "    return {name: r.name, initiatorType: r.initiatorType, startTime: r.startTime, duration: r.duration, transferSize: r.transferSize || 0};" +
+            "  });" +
+            "  performance.getEntriesByType('paint').forEach(function (p) { out.paint[p.name] = p.startTime; });" +
+            "} catch (e) {}" +
+            "var observers = [];" +
+            "function observe(type, cb) {" +
+            "  try {" +
+            "    var o = new PerformanceObserver(function (list) { list.getEntries().forEach(cb); });" +
+            "    o.observe({type: type, buffered: true}); observers.push(o);" +
+            "  } catch (e) {}" +
+            "}" +
+            "observe('largest-contentful-paint', function (e) { out.lcp = e.renderTime || e.loadTime || e.startTime; });" +
+            "observe('layout-shift', function (e) { if (!e.hadRecentInput) out.cls += e.value; });" +
+            "setTimeout(function () {" +
+            "  observers.forEach(function (o) { o.disconnect(); });" +
+            "  try { performance.clearResourceTimings(); } catch (e) {}" +
+            "  done(out);" +
+            "}, 100);";
+
+    // Resource Timing has no HTTP method, so the sign-up call is the XHR/fetch started after the click.
+    private static final String SUBMIT_JS =
+            "var since = arguments[0];" +
+            "try {" +
+            "  return performance.getEntriesByType('resource').filter(function (r) {" +
+            "    return r.startTime >= since && (r.initiatorType === 'xmlhttprequest' || r.initiatorType === 'fetch');" +
+            "  }).map(function (r) { return {name: r.name, startTime: r.startTime, duration: r.duration}; });" +
+            "} catch (e) { return []; }";
+
+    private static final List<Map<String, Object>> pageLoads = new ArrayList<>();
+    private static final Map<String, Double> metrics = new LinkedHashMap<>();
+    private static Map<String, Object> submit;
+    private static double submitMark = -1;
+
+    private WebPerfMonitor() {}
+
+    public static boolean enabled() {
+        return !"false".equalsIgnoreCase(System.getProperty("webperf", "true"));
+    }
+
+    /** Call once the page is loaded (readyState complete). */
+    public static synchronized void capturePageLoad(WebDriver driver) {
+        if (!enabled() || !(driver instanceof JavascriptExecutor)) return;
+        try {
+            Object raw = ((JavascriptExecutor) driver).executeAsyncScript(CAPTURE_JS);
+            if (!(raw instanceof Map)) return;
+            @SuppressWarnings("unchecked")
+            Map<String, Object> capture = (Map<String, Object>) raw;
+            pageLoads.add(capture);
+            if (pageLoads.size() > MAX_PAGE_LOADS) pageLoads.remove(0);
+            summarizePageLoad(capture);
+        } catch (WebDriverException e) {
+            log.debug("Page performance capture failed: {}", e.getMessage());
+        }
+    }
+
+    /** Call right before clicking the sign-up button. */
+    public static synchronized void markSubmit(WebDriver driver) {
+        if (!enabled() || !(driver instanceof JavascriptExecutor)) return;
+        try {
+            Object now = ((JavascriptExecutor) driver).executeScript("return performance.now();");
+            submitMark = now instanceof Number ? ((Number) now).doubleValue() : -1;
+        } catch (WebDriverException e) {
+            submitMark = -1;
+        }
+    }
+
+    /** Call once the submission outcome is known. */
+    public static synchronized void captureSubmit(WebDriver driver) {
+        if (!enabled() || submitMark < 0 || !(driver instanceof JavascriptExecutor)) return;
+        try {
+            Object raw = ((JavascriptExecutor) driver).executeScript(SUBMIT_JS, submitMark);
+            if (!(raw instanceof List) || ((List<?>) raw).isEmpty()) return;
+
+            Map<String, Object> best = null;
+            for (Object o : (List<?>) raw) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> entry = (Map<String, Object>) o;
+                boolean named = String.valueOf(entry.get("name")).toLowerCase().matches(".*(sign|regist|account|user).*");
+                if (best == null || named || number(entry.get("duration")) > number(best.get("duration"))) {
+                    best = entry;
+                    if (named) break;
+                }
+            }
+            submit = best;
+            metrics.put("signupRequestMs", number(best.get("duration")));
+        } catch (WebDriverException e) {
+            log.debug("Sign-up request timing capture failed: {}", e.getMessage());
+        } finally {
+            submitMark = -1;
+        }
+    }
+
+    public static synchronized Map<String, Double> metrics() {
+        return new LinkedHashMap<>(metrics);
+    }
+
+    /** "lcp: 1234 ms (median of last 10 runs 1100, +12%)" per metric. */
+    public static synchronized List<String> trendLines() {
+        List<Map<String, Double>> history = readHistory();
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<String, Double> e : metrics.entrySet()) {
+            List<Long> prior = new ArrayList<>();
+            for (Map<String, Double> run : history) {
+                Double v = run.get(e.getKey());
+                if (v != null) prior.add(Math.round(v * 1000));
+            }
+            String unit = "cls".equals(e.getKey()) || "resources".equals(e.getKey()) ? ""
+                    : "transferKb".equals(e.getKey()) ? " KB" : " ms";
+            String line = String.format("%s: %s%s", e.getKey(), format(e.getValue()), unit);
+            if (!prior.isEmpty()) {
+                double median = PerfGate.percentile(prior, 50) / 1000.0;
+                double deltaPct = median == 0 ? 0 : (e.getValue() - median) / median * 100;
+                line += String.format(" (median of last %d runs %s, %+.0f%%)", prior.size(), format(median), deltaPct);
+            }
+            lines.add(line);
+        }
+        return lines;
+    }
+
+    /** Persist this run (raw entries + summary line). Safe to call when nothing was captured. */
+    public static synchronized void saveRun() {
+        if (metrics.isEmpty()) return;
+        try {
+            Files.createDirectories(RUN_DIR);
+            String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+
+            Map<String, Object> run = new LinkedHashMap<>();
+            run.put("timestamp", LocalDateTime.now().toString());
+            run.put("metrics", metrics);
+            run.put("pageLoads", pageLoads);
+            run.put("signupRequest", submit);
+            mapper.writeValue(RUN_DIR.resolve("run-" + stamp + ".json").toFile(), run);
+
+            Map<String, Object> line = new LinkedHashMap<>();
+            line.put("timestamp", run.get("timestamp"));
+            line.put("metrics", metrics);
+            JsonLines.append(HISTORY, line);
+        } catch (IOException e) {
+            log.warn("Could not store web performance run: {}", e.getMessage());
+        }
+    }
+
+    // ---------- Internals ----------
+
+    @SuppressWarnings("unchecked")
+    private static void summarizePageLoad(Map<String, Object> capture) {
+        Object navObj = capture.get("navigation");
+        if (navObj instanceof Map) {
+            Map<String, Object> nav = (Map<String, Object>) navObj;
+            // Level-1 timing is epoch based; Level-2 entries are relative to time origin already.
+            double origin = nav.containsKey("navigationStart") ? number(nav.get("navigationStart")) : 0;
+            metrics.put("ttfb", number(nav.get("responseStart")) - origin);
+            metrics.put("domContentLoaded", number(nav.get("domContentLoadedEventEnd")) - origin);
+            metrics.put("load", number(nav.get("loadEventEnd")) - origin);
+        }
+        Object paint = capture.get("paint");
+        if (paint instanceof Map && ((Map<String, Object>) paint).containsKey("first-contentful-paint")) {
+            metrics.put("fcp", number(((Map<String, Object>) paint).get("first-contentful-paint")));
+        }
+        if (capture.get("lcp") != null) metrics.put("lcp", number(capture.get("lcp")));
+        metrics.put("cls", number(capture.get("cls")));
+
+        List<Object> resources = capture.get("resources") instanceof List
+                ? (List<Object>) capture.get("resources") : Collections.emptyList();
+        double transfer = 0;
+        for (Object r : resources) transfer += number(((Map<String, Object>) r).get("transferSize"));
+        metrics.put("resources", (double) resources.size());
+        metrics.put("transferKb", transfer / 1024);
+    }
+
+    private static List<Map<String, Double>> readHistory() {
+        List<Map<String, Double>> runs = new ArrayList<>();
+        for (Map<String, Object> run : JsonLines.tail(HISTORY, TREND_RUNS)) {
+            if (!(run.get("metrics") instanceof Map)) continue;
+            Map<String, Double> m = new LinkedHashMap<>();
+            ((Map<?, ?>) run.get("metrics")).forEach((k, v) -> m.put(String.valueOf(k), number(v)));
+            runs.add(m);
+        }
+        return runs;
+    }
+
+    private static String format(double v) {
+        return v == Math.rint(v) || Math.abs(v) >= 100 ? String.valueOf(Math.round(v)) : String.format("%.3f", v);
+    }
+}